@@ -3,6 +3,7 @@ plugins {
 	`java-library`
 	`maven-publish`
 	id("com.github.ben-manes.versions") version "0.36.0"
+	id("me.champeau.gradle.jmh") version "0.5.3"
 }
 
 group = "com.elex-project"
@@ -37,7 +38,8 @@ tasks.jar {
 				"Implementation-Title" to project.name,
 				"Implementation-Version" to project.version,
 				"Implementation-Vendor" to "ELEX co.,pte.",
-				"Automatic-Module-Name" to "com.elex_project.cyclops"
+				"Automatic-Module-Name" to "com.elex_project.cyclops",
+				"Multi-Release" to "true"
 		))
 	}
 }
@@ -54,6 +56,53 @@ tasks.test {
 	useJUnitPlatform()
 }
 
+// Java 21 versions of some classes, packed into META-INF/versions/21 of the multi-release jar.
+// They need a local JDK 21, which the Gradle 6.8 wrapper cannot provision, so they are only
+// built with -Pjava21.
+if (project.hasProperty("java21")) {
+	val java21: SourceSet by sourceSets.creating {
+		java.srcDir("src/main/java21")
+		compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+	}
+
+	tasks.named<JavaCompile>(java21.compileJavaTaskName) {
+		javaCompiler.set(javaToolchains.compilerFor {
+			languageVersion.set(JavaLanguageVersion.of(21))
+		})
+		options.release.set(21)
+		options.encoding = "UTF-8"
+		options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+	}
+
+	tasks.jar {
+		into("META-INF/versions/21") {
+			from(java21.output)
+		}
+	}
+
+	// Runs the tests again on Java 21 with the Java 21 classes first, as the multi-release jar would
+	val vectorTest by tasks.registering(Test::class) {
+		description = "Runs the tests on Java 21 with the Vector API kernels."
+		group = "verification"
+		useJUnitPlatform()
+		javaLauncher.set(javaToolchains.launcherFor {
+			languageVersion.set(JavaLanguageVersion.of(21))
+		})
+		testClassesDirs = sourceSets.test.get().output.classesDirs
+		classpath = java21.output + sourceSets.test.get().runtimeClasspath
+		jvmArgs("--add-modules", "jdk.incubator.vector")
+	}
+
+	tasks.check {
+		dependsOn(vectorTest)
+	}
+}
+
+jmh {
+	jmhVersion = "1.27"
+	profilers = listOf("gc")
+}
+
 tasks.javadoc {
 	if (JavaVersion.current().isJava9Compatible) {
 		(options as StandardJavadocDocletOptions).addBooleanOption("html5", true)
@@ -0,0 +1,60 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link ColorConverter} against a loop over the object model, on 1K and 1M pixels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkConversionBenchmark {
+	@Param({"1024", "1048576"})
+	public int size;
+
+	@Param({"CMYK", "HSL", "HSV", "LAB", "RGB", "XYZ", "CMY", "HUNTER_LAB", "LCH", "LUV", "YXY"})
+	public ColorSpace target;
+
+	private int[] pixels;
+	private float[] out;
+	private Function<Color, Color> conversion;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		pixels = new int[size];
+		for (int i = 0; i < size; i++) {
+			pixels[i] = random.nextInt();
+		}
+		out = new float[size * target.components()];
+		conversion = ColorConversionBenchmark.conversion(target);
+	}
+
+	@Benchmark
+	public float[] converter() {
+		ColorConverter.convert(pixels, 0, size, out, target);
+		return out;
+	}
+
+	@Benchmark
+	public void objects(Blackhole bh) {
+		for (int pixel : pixels) {
+			bh.consume(conversion.apply(RGB.of(pixel)));
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cube root of the LAB pivot range, {@code Math.pow} vs {@code Math.cbrt} vs {@link Utils#cbrt(float)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CbrtBenchmark {
+	private static final int SIZE = 1024;
+
+	private final float[] values = new float[SIZE];
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		for (int i = 0; i < SIZE; i++) {
+			values[i] = 0.008856f + random.nextFloat();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public float pow() {
+		float sum = 0;
+		for (float v : values) {
+			sum += (float) Math.pow(v, 1 / 3f);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public float mathCbrt() {
+		float sum = 0;
+		for (float v : values) {
+			sum += (float) Math.cbrt(v);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public float utilsCbrt() {
+		float sum = 0;
+		for (float v : values) {
+			sum += Utils.cbrt(v);
+		}
+		return sum;
+	}
+}
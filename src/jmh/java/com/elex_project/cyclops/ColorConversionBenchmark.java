@@ -0,0 +1,72 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Every {@code Color.toX()} pair on a single value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ColorConversionBenchmark {
+	@Param({"CMYK", "HSL", "HSV", "LAB", "RGB", "XYZ", "CMY", "HUNTER_LAB", "LCH", "LUV", "YXY"})
+	public ColorSpace from;
+
+	@Param({"CMYK", "HSL", "HSV", "LAB", "RGB", "XYZ", "CMY", "HUNTER_LAB", "LCH", "LUV", "YXY"})
+	public ColorSpace to;
+
+	private Color source;
+	private Function<Color, Color> conversion;
+
+	static Function<Color, Color> conversion(ColorSpace space) {
+		switch (space) {
+			case CMYK:
+				return Color::toCMYK;
+			case HSL:
+				return Color::toHSL;
+			case HSV:
+				return Color::toHSV;
+			case LAB:
+				return Color::toLAB;
+			case RGB:
+				return Color::toRGB;
+			case XYZ:
+				return Color::toXYZ;
+			case CMY:
+				return Color::toCMY;
+			case HUNTER_LAB:
+				return Color::toHunterLAB;
+			case LCH:
+				return Color::toLCH;
+			case LUV:
+				return Color::toLUV;
+			case YXY:
+			default:
+				return Color::toYXY;
+		}
+	}
+
+	@Setup
+	public void setup() {
+		source = conversion(from).apply(RGB.of(124, 38, 62));
+		conversion = conversion(to);
+	}
+
+	@Benchmark
+	public Color convert() {
+		return conversion.apply(source);
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compositing an overlay onto an image row, per color, in gamma-encoded sRGB, in linear light
+ * and premultiplied, and converting to and from premultiplied alpha.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompositorBenchmark {
+	private static final int SIZE = 4096;
+
+	@Param({"SRC_OVER", "MULTIPLY", "OVERLAY", "SOFT_LIGHT"})
+	public Compositor.Mode mode;
+
+	private final int[] overlay = new int[SIZE];
+	private final int[] image = new int[SIZE];
+	private final int[] out = new int[SIZE];
+	private final int[] premultipliedOverlay = new int[SIZE];
+	private final int[] premultipliedImage = new int[SIZE];
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		for (int i = 0; i < SIZE; i++) {
+			overlay[i] = random.nextInt();
+			image[i] = random.nextInt() | 0xFF000000;
+		}
+		Premultiplied.premultiply(overlay, 0, SIZE, premultipliedOverlay, 0);
+		Premultiplied.premultiply(image, 0, SIZE, premultipliedImage, 0);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int[] compositeColors() {
+		for (int i = 0; i < SIZE; i++) {
+			out[i] = Utils.compositeColors(overlay[i], image[i]);
+		}
+		return out;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int[] composite() {
+		Compositor.composite(mode, overlay, 0, image, 0, SIZE, out, 0);
+		return out;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int[] compositeLinear() {
+		Compositor.compositeLinear(mode, overlay, 0, image, 0, SIZE, out, 0);
+		return out;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int[] compositePremultiplied() {
+		Compositor.compositePremultiplied(mode, premultipliedOverlay, 0, premultipliedImage, 0, SIZE, out, 0);
+		return out;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int[] premultiply() {
+		Premultiplied.premultiply(overlay, 0, SIZE, out, 0);
+		return out;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int[] unpremultiply() {
+		Premultiplied.unpremultiply(premultipliedOverlay, 0, SIZE, out, 0);
+		return out;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Contrast} matrix of 256 foreground tokens over 128 background tokens, against
+ * the same pairs through {@link Utils#calculateContrast(int, int)}, and the minimum alphas
+ * of the foregrounds over one background against the binary search of {@link Utils}, and
+ * {@link ContrastSolver} fixing up the foregrounds against two backgrounds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ContrastBenchmark {
+	private static final int ROWS = 256;
+	private static final int COLS = 128;
+
+	private int[] foregrounds;
+	private int[] backgrounds;
+	private double[] out;
+	private int[] alphas;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		foregrounds = new int[ROWS];
+		backgrounds = new int[COLS];
+		for (int i = 0; i < ROWS; i++) {
+			foregrounds[i] = random.nextInt() | 0xFF000000;
+		}
+		for (int j = 0; j < COLS; j++) {
+			backgrounds[j] = random.nextInt() | 0xFF000000;
+		}
+		out = new double[ROWS * COLS];
+		alphas = new int[ROWS];
+	}
+
+	@Benchmark
+	public double[] pairs() {
+		for (int i = 0; i < ROWS; i++) {
+			for (int j = 0; j < COLS; j++) {
+				out[i * COLS + j] = Utils.calculateContrast(foregrounds[i], backgrounds[j]);
+			}
+		}
+		return out;
+	}
+
+	@Benchmark
+	public double[] matrix() {
+		Contrast.matrix(foregrounds, 0, ROWS, backgrounds, 0, COLS, out, 0);
+		return out;
+	}
+
+	@Benchmark
+	public int[] calculateMinimumAlpha() {
+		for (int i = 0; i < ROWS; i++) {
+			alphas[i] = Utils.calculateMinimumAlpha(foregrounds[i], backgrounds[0], 3f);
+		}
+		return alphas;
+	}
+
+	@Benchmark
+	public int[] minimumAlphas() {
+		Contrast.minimumAlphas(foregrounds, 0, ROWS, backgrounds[0], 3f, alphas, 0);
+		return alphas;
+	}
+
+	@Benchmark
+	public int[] nearestAccessible() {
+		ContrastSolver.nearest(foregrounds, 0, ROWS, backgrounds, 0, 2, Contrast.AA, alphas, 0);
+		return alphas;
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LAB of colors drawn from a small palette, computed vs through a {@link ConversionCache},
+ * from one thread and from four sharing the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionCacheBenchmark {
+	private static final int SIZE = 4096;
+	private static final int PALETTE = 1024;
+
+	private final int[] colors = new int[SIZE];
+	private final ConversionCache cache = new ConversionCache(ConversionCache.Target.LAB, ConversionCache.DEFAULT_CAPACITY);
+
+	@State(Scope.Thread)
+	public static class Output {
+		final float[] lab = new float[3];
+	}
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		int[] palette = new int[PALETTE];
+		for (int i = 0; i < PALETTE; i++) {
+			palette[i] = random.nextInt();
+		}
+		for (int i = 0; i < SIZE; i++) {
+			colors[i] = palette[random.nextInt(PALETTE)];
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public float computed(Output output) {
+		float sum = 0;
+		for (int color : colors) {
+			Conversions.rgbToLab(color, output.lab, 0);
+			sum += output.lab[0];
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public float cached(Output output) {
+		float sum = 0;
+		for (int color : colors) {
+			cache.lookup(color, output.lab, 0);
+			sum += output.lab[0];
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	@Threads(4)
+	public float cachedShared(Output output) {
+		return cached(output);
+	}
+}
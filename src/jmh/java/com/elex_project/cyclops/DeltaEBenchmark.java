@@ -0,0 +1,53 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DeltaE} formulas on 64K pairs of packed LAB colors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeltaEBenchmark {
+	private static final int SIZE = 1 << 16;
+
+	@Param({"CIE76", "CIE94", "CIEDE2000", "CMC_2_1"})
+	public DeltaE formula;
+
+	private float[] labs1;
+	private float[] labs2;
+	private float[] out;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		int[] pixels = new int[SIZE * 2];
+		for (int i = 0; i < pixels.length; i++) {
+			pixels[i] = random.nextInt();
+		}
+		labs1 = new float[SIZE * 3];
+		labs2 = new float[SIZE * 3];
+		ColorConverter.convert(pixels, 0, SIZE, labs1, ColorSpace.LAB);
+		ColorConverter.convert(pixels, SIZE, SIZE, labs2, ColorSpace.LAB);
+		out = new float[SIZE];
+	}
+
+	@Benchmark
+	public float[] pairs() {
+		formula.differences(labs1, 0, labs2, 0, SIZE, out, 0);
+		return out;
+	}
+}
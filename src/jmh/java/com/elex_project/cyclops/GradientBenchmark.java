@@ -0,0 +1,59 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering gradient tables per color space, and mapping values through a {@link Gradient.Sampler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GradientBenchmark {
+	private static final int SIZE = 1024;
+
+	@Param({"RGB", "LAB", "LCH", "HSL", "OKLAB"})
+	public Gradient.Space space;
+
+	private final int[] lut = new int[SIZE];
+	private final float[] values = new float[SIZE];
+	private final int[] colors = new int[SIZE];
+	private Gradient gradient;
+	private Gradient.Sampler sampler;
+
+	@Setup
+	public void setup() {
+		gradient = Gradient.of(space, 0xFF000080, 0xFF00FFFF, 0xFFFFFF00, 0xFFFF0000);
+		sampler = gradient.sampler(256, 0, 1);
+		Random random = new Random(42);
+		for (int i = 0; i < SIZE; i++) {
+			values[i] = random.nextFloat();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int[] fill() {
+		gradient.fill(lut, 0, SIZE);
+		return lut;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int[] sample() {
+		sampler.sample(values, 0, SIZE, colors, 0);
+		return colors;
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Harmonies of many brand colors, seed by seed vs in one batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HarmonyBenchmark {
+	private static final int SEEDS = 4096;
+
+	@Param({"COMPLEMENT", "TRIADIC", "MONOCHROMATIC"})
+	public Harmony.Scheme scheme;
+
+	private final int[] seeds = new int[SEEDS];
+	private int[] out;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		for (int i = 0; i < SEEDS; i++) {
+			seeds[i] = random.nextInt() | 0xFF000000;
+		}
+		out = new int[SEEDS * scheme.size()];
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SEEDS)
+	public int[] perSeed() {
+		final int size = scheme.size();
+		for (int i = 0; i < SEEDS; i++) {
+			System.arraycopy(Harmony.harmonies(scheme, seeds[i]), 0, out, i * size, size);
+		}
+		return out;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SEEDS)
+	public int[] batch() {
+		Harmony.harmonies(scheme, seeds, 0, SEEDS, out, 0);
+		return out;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link ColorConverter#convertParallel} over the number of cores, on a 16 MP frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ParallelConversionBenchmark {
+	private static final int SIZE = 16 * 1024 * 1024;
+
+	@Param({"1", "2", "4", "8", "16"})
+	public int threads;
+
+	@Param({"4096", "16384", "65536"})
+	public int threshold;
+
+	@Param({"LAB", "HSV"})
+	public ColorSpace target;
+
+	private int[] pixels;
+	private float[] out;
+	private ForkJoinPool pool;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		pixels = new int[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			pixels[i] = random.nextInt();
+		}
+		out = new float[SIZE * target.components()];
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public float[] convertParallel() {
+		ColorConverter.convertParallel(pixels, 0, SIZE, out, 0, target, pool, threshold);
+		return out;
+	}
+}
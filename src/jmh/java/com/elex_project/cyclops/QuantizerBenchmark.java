@@ -0,0 +1,63 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Quantizer} and {@link ColorHistogram} on a 24 MP image of smooth gradients with noise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantizerBenchmark {
+	private static final int WIDTH = 6000, HEIGHT = 4000;
+
+	@Param({"8", "16"})
+	public int k;
+
+	private int[] pixels;
+	private final ColorHistogram histogram = new ColorHistogram();
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		pixels = new int[WIDTH * HEIGHT];
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				pixels[y * WIDTH + x] = Utils.rgb(x * 255 / WIDTH,
+						y * 255 / HEIGHT, Utils.constrain(128 + random.nextInt(33) - 16, 0, 255));
+			}
+		}
+	}
+
+	@Benchmark
+	public Palette medianCut() {
+		return Quantizer.medianCut(pixels, 0, pixels.length, k);
+	}
+
+	@Benchmark
+	public Palette kMeans() {
+		return Quantizer.kMeans(pixels, 0, pixels.length, k);
+	}
+
+	@Benchmark
+	public Palette dominantByRows() {
+		histogram.clear();
+		for (int y = 0; y < HEIGHT; y++) {
+			histogram.add(pixels, y * WIDTH, WIDTH);
+		}
+		return histogram.dominant(k);
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Utils}, {@link Harmony} and {@link IndexedColors} operations on a single value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UtilsBenchmark {
+	private int foreground = 0xFF7C263E;
+	private int translucent = 0x807C263E;
+	private int background = 0xFFF5F5DC;
+	private float ratio = 0.3f;
+	private String name = "blue violet";
+	private String styledName = "BlueViolet";
+
+	@Benchmark
+	public double calculateContrast() {
+		return Utils.calculateContrast(foreground, background);
+	}
+
+	@Benchmark
+	public double calculateContrastTranslucent() {
+		return Utils.calculateContrast(translucent, background);
+	}
+
+	@Benchmark
+	public int calculateMinimumAlpha() {
+		return Utils.calculateMinimumAlpha(foreground, background, 4.5f);
+	}
+
+	@Benchmark
+	public int calculateMinimumBackgroundAlpha() {
+		return Utils.calculateMinimumBackgroundAlpha(foreground, background, 4.5f);
+	}
+
+	@Benchmark
+	public int compositeColors() {
+		return Utils.compositeColors(translucent, background);
+	}
+
+	@Benchmark
+	public int blendARGB() {
+		return Utils.blendARGB(foreground, background, ratio);
+	}
+
+	@Benchmark
+	public int[] triadics() {
+		return Harmony.triadics(foreground);
+	}
+
+	@Benchmark
+	public int[] splitComplements() {
+		return Harmony.splitComplements(foreground);
+	}
+
+	@Benchmark
+	public int[] analogouses() {
+		return Harmony.analogouses(foreground);
+	}
+
+	@Benchmark
+	public int[] monochromatics() {
+		return Harmony.monochromatics(foreground);
+	}
+
+	@Benchmark
+	public int complement() {
+		return Harmony.complement(foreground);
+	}
+
+	@Benchmark
+	public int indexedColor() {
+		return IndexedColors.get(name);
+	}
+
+	@Benchmark
+	public int indexedColorNormalized() {
+		return IndexedColors.getOrDefault(styledName, 0);
+	}
+
+	@Benchmark
+	public String nearestIndexedColor() {
+		return IndexedColors.nearest(foreground);
+	}
+
+	@Benchmark
+	public String[] nearestIndexedColors() {
+		return IndexedColors.nearest(foreground, 5);
+	}
+}
@@ -14,7 +14,7 @@ import lombok.*;
 @EqualsAndHashCode
 @ToString
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class CMY implements Color {
+public final class CMY implements Color {
 
 	private float cyan, magenta, yellow;
 
@@ -24,25 +24,7 @@ public class CMY implements Color {
 
 	@Override
 	public CMYK toCMYK() {
-		float C = cyan;
-		float M = magenta;
-		float Y = yellow;
-		float var_K = 1;
-
-		if (C < var_K) var_K = C;
-		if (M < var_K) var_K = M;
-		if (Y < var_K) var_K = Y;
-		if (var_K == 1) { //Black
-			C = 0;
-			M = 0;
-			Y = 0;
-		} else {
-			C = (C - var_K) / (1 - var_K);
-			M = (M - var_K) / (1 - var_K);
-			Y = (Y - var_K) / (1 - var_K);
-		}
-		float K = var_K;
-		return CMYK.of(C, M, Y, K);
+		return Conversions.cmyToCmyk(cyan, magenta, yellow);
 	}
 
 	@Override
@@ -64,11 +46,7 @@ public class CMY implements Color {
 	public RGB toRGB() {
 		//CMY values from 0 to 1
 		//RGB results from 0 to 255
-		int R = Math.round((1 - cyan) * 255);
-		int G = Math.round((1 - magenta) * 255);
-		int B = Math.round((1 - yellow) * 255);
-
-		return RGB.of(R, G, B);
+		return RGB.of(Conversions.cmyToRgb(cyan, magenta, yellow));
 	}
 
 	@Override
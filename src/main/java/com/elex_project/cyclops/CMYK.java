@@ -14,7 +14,7 @@ import lombok.*;
 @EqualsAndHashCode
 @ToString
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class CMYK implements Color {
+public final class CMYK implements Color {
 	private float cyan, magenta, yellow, black;
 
 	public static CMYK of(float cyan, float magenta, float yellow, float black) {
@@ -43,7 +43,7 @@ public class CMYK implements Color {
 
 	@Override
 	public RGB toRGB() {
-		return toCMY().toRGB();
+		return RGB.of(Conversions.cmykToRgb(cyan, magenta, yellow, black));
 	}
 
 	@Override
@@ -54,11 +54,7 @@ public class CMYK implements Color {
 	@Override
 	public CMY toCMY() {
 		//CMYK and CMY values from 0 to 1
-
-		float C = (cyan * (1 - black) + black);
-		float M = (magenta * (1 - black) + black);
-		float Y = (yellow * (1 - black) + black);
-		return CMY.of(C, M, Y);
+		return Conversions.cmykToCmy(cyan, magenta, yellow, black);
 	}
 
 	@Override
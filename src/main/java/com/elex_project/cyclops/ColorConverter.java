@@ -0,0 +1,282 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bulk conversion of packed ARGB pixels.
+ * <p>
+ * Converts a range of an {@code int[]} buffer into float components of a target
+ * {@link ColorSpace} without allocating anything per pixel. The output is either
+ * interleaved ({@code c0 c1 c2 c0 c1 c2 ...}) or planar (one array per component).
+ * <p>
+ * The arithmetic is shared with the object model, so a converted pixel holds exactly the
+ * same values as, for example, {@code RGB.of(argb).toLAB()}. LAB is read from the
+ * {@link LabTable} when it is enabled, for both paths.
+ * <p>
+ * The conversions that pass through CIE XYZ run on the Vector API on Java 21 and later
+ * when the {@code jdk.incubator.vector} module is added, with identical results.
+ * <p>
+ * Large buffers can be split across cores with {@code convertParallel}. Every pixel is
+ * converted independently by the same code, so the parallel output is identical to the
+ * sequential one.
+ *
+ * @author Elex
+ */
+public final class ColorConverter {
+	private static final int PLANAR_BLOCK = 256;
+	/**
+	 * Default number of pixels below which a range is converted sequentially.
+	 * 16K pixels of LAB output is 192 KiB, which stays in a per-core L2 cache.
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 14;
+
+	private ColorConverter() {
+	}
+
+	/**
+	 * Converts {@code len} pixels starting at {@code argbIn[off]} and writes them
+	 * interleaved from the beginning of {@code out}.
+	 *
+	 * @param argbIn packed ARGB pixels
+	 * @param off    first pixel to convert
+	 * @param len    number of pixels to convert
+	 * @param out    at least {@code len * target.components()} floats
+	 * @param target target color space
+	 */
+	public static void convert(@NotNull int[] argbIn, int off, int len,
+	                           @NotNull float[] out, @NotNull ColorSpace target) {
+		convert(argbIn, off, len, out, 0, target);
+	}
+
+	/**
+	 * Converts {@code len} pixels starting at {@code argbIn[off]} and writes them
+	 * interleaved from {@code out[outOff]}.
+	 *
+	 * @param argbIn packed ARGB pixels
+	 * @param off    first pixel to convert
+	 * @param len    number of pixels to convert
+	 * @param out    at least {@code outOff + len * target.components()} floats
+	 * @param outOff first float to write
+	 * @param target target color space
+	 */
+	public static void convert(@NotNull int[] argbIn, int off, int len,
+	                           @NotNull float[] out, int outOff, @NotNull ColorSpace target) {
+		final int n = target.components();
+		Utils.checkRange(argbIn.length, off, len);
+		Utils.checkRange(out.length, outOff, len * n);
+
+		final int end = off + len;
+		int o = outOff;
+		switch (target) {
+			case CMYK:
+				for (int i = off; i < end; i++, o += n) {
+					Conversions.rgbToCmy(argbIn[i], out, o);
+					Conversions.cmyToCmyk(out[o], out[o + 1], out[o + 2], out, o);
+				}
+				break;
+			case HSL:
+				for (int i = off; i < end; i++, o += n) {
+					Conversions.rgbToHsl(argbIn[i], out, o);
+				}
+				break;
+			case HSV:
+				for (int i = off; i < end; i++, o += n) {
+					Conversions.rgbToHsv(argbIn[i], out, o);
+				}
+				break;
+			case LAB:
+				if (LabTable.isEnabled()) {
+					LabTable.get().lookup(argbIn, off, len, out, o);
+					break;
+				}
+				Kernels.rgbToLab(argbIn, off, len, out, o);
+				break;
+			case RGB:
+				for (int i = off; i < end; i++, o += n) {
+					final int c = argbIn[i];
+					out[o] = Utils.red(c);
+					out[o + 1] = Utils.green(c);
+					out[o + 2] = Utils.blue(c);
+				}
+				break;
+			case XYZ:
+				Kernels.rgbToXyz(argbIn, off, len, out, o);
+				break;
+			case CMY:
+				for (int i = off; i < end; i++, o += n) {
+					Conversions.rgbToCmy(argbIn[i], out, o);
+				}
+				break;
+			case HUNTER_LAB:
+				Kernels.rgbToXyz(argbIn, off, len, out, o);
+				for (int i = off; i < end; i++, o += n) {
+					Conversions.xyzToHunterLab(out[o], out[o + 1], out[o + 2], out, o);
+				}
+				break;
+			case LCH:
+				Kernels.rgbToLab(argbIn, off, len, out, o);
+				for (int i = off; i < end; i++, o += n) {
+					Conversions.labToLch(out[o], out[o + 1], out[o + 2], out, o);
+				}
+				break;
+			case LUV:
+				Kernels.rgbToXyz(argbIn, off, len, out, o);
+				for (int i = off; i < end; i++, o += n) {
+					Conversions.xyzToLuv(out[o], out[o + 1], out[o + 2], out, o);
+				}
+				break;
+			case YXY:
+				Kernels.rgbToXyz(argbIn, off, len, out, o);
+				for (int i = off; i < end; i++, o += n) {
+					Conversions.xyzToYxy(out[o], out[o + 1], out[o + 2], out, o);
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unsupported color space: " + target);
+		}
+	}
+
+	/**
+	 * Converts like {@link #convert(int[], int, int, float[], int, ColorSpace)}, split
+	 * across the common {@link ForkJoinPool} with {@link #DEFAULT_PARALLEL_THRESHOLD}.
+	 */
+	public static void convertParallel(@NotNull int[] argbIn, int off, int len,
+	                                   @NotNull float[] out, int outOff, @NotNull ColorSpace target) {
+		convertParallel(argbIn, off, len, out, outOff, target, ForkJoinPool.commonPool(),
+				DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Converts like {@link #convert(int[], int, int, float[], int, ColorSpace)}, splitting
+	 * the range in halves on {@code pool} until it is not longer than {@code threshold}.
+	 *
+	 * @param pool      the pool to run on
+	 * @param threshold pixels converted sequentially by one task, at least 1
+	 */
+	public static void convertParallel(@NotNull int[] argbIn, int off, int len,
+	                                   @NotNull float[] out, int outOff, @NotNull ColorSpace target,
+	                                   @NotNull ForkJoinPool pool, int threshold) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold must be positive.");
+		}
+		Utils.checkRange(argbIn.length, off, len);
+		Utils.checkRange(out.length, outOff, len * target.components());
+		if (len <= threshold) {
+			convert(argbIn, off, len, out, outOff, target);
+		} else {
+			pool.invoke(new ConvertAction(argbIn, off, len, out, outOff, target, threshold));
+		}
+	}
+
+	/**
+	 * Converts like {@link #convert(int[], int, int, float[], int, ColorSpace)}, in chunks
+	 * of {@code chunk} pixels submitted to {@code executor}. Returns when all chunks are done.
+	 *
+	 * @param executor the executor to run on
+	 * @param chunk    pixels per task, at least 1
+	 * @throws CompletionException if a chunk failed
+	 */
+	public static void convertParallel(@NotNull int[] argbIn, int off, int len,
+	                                   @NotNull float[] out, int outOff, @NotNull ColorSpace target,
+	                                   @NotNull Executor executor, int chunk) {
+		if (chunk < 1) {
+			throw new IllegalArgumentException("chunk must be positive.");
+		}
+		Utils.checkRange(argbIn.length, off, len);
+		Utils.checkRange(out.length, outOff, len * target.components());
+		final int n = target.components();
+		final CompletableFuture<?>[] tasks = new CompletableFuture<?>[(len + chunk - 1) / chunk];
+		for (int t = 0; t < tasks.length; t++) {
+			final int from = t * chunk;
+			final int count = Math.min(chunk, len - from);
+			tasks[t] = CompletableFuture.runAsync(() ->
+					convert(argbIn, off + from, count, out, outOff + from * n, target), executor);
+		}
+		CompletableFuture.allOf(tasks).join();
+	}
+
+	private static final class ConvertAction extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int[] argbIn;
+		private final int off, len;
+		private final float[] out;
+		private final int outOff;
+		private final ColorSpace target;
+		private final int threshold;
+
+		ConvertAction(int[] argbIn, int off, int len, float[] out, int outOff,
+		              ColorSpace target, int threshold) {
+			this.argbIn = argbIn;
+			this.off = off;
+			this.len = len;
+			this.out = out;
+			this.outOff = outOff;
+			this.target = target;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (len <= threshold) {
+				convert(argbIn, off, len, out, outOff, target);
+				return;
+			}
+			// Split on a multiple of the threshold so that chunks keep their alignment
+			final int half = Math.max(threshold, (len / 2) / threshold * threshold);
+			final int n = target.components();
+			invokeAll(new ConvertAction(argbIn, off, half, out, outOff, target, threshold),
+					new ConvertAction(argbIn, off + half, len - half, out, outOff + half * n, target, threshold));
+		}
+	}
+
+	/**
+	 * Converts {@code len} pixels starting at {@code argbIn[off]} into one array per
+	 * component (structure of arrays). Component {@code c} of pixel {@code i} is written to
+	 * {@code planes[c][planeOff + i]}.
+	 *
+	 * @param argbIn   packed ARGB pixels
+	 * @param off      first pixel to convert
+	 * @param len      number of pixels to convert
+	 * @param planes   {@code target.components()} arrays of at least {@code planeOff + len} floats
+	 * @param planeOff first index to write in each plane
+	 * @param target   target color space
+	 */
+	public static void convertPlanar(@NotNull int[] argbIn, int off, int len,
+	                                 @NotNull float[][] planes, int planeOff, @NotNull ColorSpace target) {
+		final int n = target.components();
+		if (planes.length < n) {
+			throw new IllegalArgumentException(target + " needs " + n + " planes.");
+		}
+		Utils.checkRange(argbIn.length, off, len);
+		for (int c = 0; c < n; c++) {
+			Utils.checkRange(planes[c].length, planeOff, len);
+		}
+
+		// Blocks are converted interleaved into the scratch, then scattered to the planes.
+		final float[] scratch = new float[Math.min(len, PLANAR_BLOCK) * n];
+		for (int i = 0; i < len; i += PLANAR_BLOCK) {
+			final int count = Math.min(PLANAR_BLOCK, len - i);
+			convert(argbIn, off + i, count, scratch, 0, target);
+			for (int c = 0; c < n; c++) {
+				final float[] plane = planes[c];
+				for (int k = 0, s = c; k < count; k++, s += n) {
+					plane[planeOff + i + k] = scratch[s];
+				}
+			}
+		}
+	}
+}
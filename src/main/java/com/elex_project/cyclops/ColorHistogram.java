@@ -0,0 +1,295 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size 3D color histogram, fed incrementally with pixel rows or chunks.
+ * <p>
+ * Every bin keeps its pixel count and the sums of the red, green and blue components of
+ * its pixels, so a bin stands for the exact mean color of what fell into it. The memory
+ * use depends only on the number of bits per axis: 2<sup>3·bits</sup> bins of 28 bytes,
+ * 896 KiB for 5 bits. Fully transparent pixels are ignored.
+ * <p>
+ * Counts are {@code int}s, so a histogram holds at most {@link Integer#MAX_VALUE} pixels;
+ * adding or merging past that throws rather than wrapping a bin around.
+ * <p>
+ * A histogram is not thread-safe. Feed one histogram per thread and {@link #merge} them.
+ *
+ * @author Elex
+ * @see Quantizer
+ */
+public final class ColorHistogram {
+	/**
+	 * Axes the bins are laid out on.
+	 */
+	public enum Binning {
+		/**
+		 * red, green, blue; cheapest
+		 */
+		RGB,
+		/**
+		 * L, a, b over [0..100] × [-128..128) × [-128..128); perceptually even bins,
+		 * reads the {@link LabTable} when it is enabled
+		 */
+		LAB
+	}
+
+	/**
+	 * Default number of bits per axis
+	 */
+	public static final int DEFAULT_BITS = 5;
+	/**
+	 * Default weight of chroma in {@link #dominant(int)}
+	 */
+	public static final float DEFAULT_CHROMA_WEIGHT = 1f;
+	/**
+	 * Smallest ΔE*<sub>ab</sub> between two colors returned by {@link #dominant(int)}
+	 */
+	private static final float DOMINANT_SEPARATION = 10f;
+
+	private final Binning binning;
+	private final int bits;
+	private final int[] counts;
+	private final long[] sums;
+	private final float[] lab = new float[3];
+	private long total;
+
+	/**
+	 * RGB binning with {@link #DEFAULT_BITS} bits per axis.
+	 */
+	public ColorHistogram() {
+		this(Binning.RGB, DEFAULT_BITS);
+	}
+
+	/**
+	 * @param binning axes of the bins
+	 * @param bits    bits per axis [1..6]
+	 */
+	public ColorHistogram(@NotNull Binning binning, int bits) {
+		if (bits < 1 || bits > 6) {
+			throw new IllegalArgumentException("bits must be in [1, 6].");
+		}
+		this.binning = binning;
+		this.bits = bits;
+		this.counts = new int[1 << (3 * bits)];
+		this.sums = new long[counts.length * 3];
+	}
+
+	public Binning getBinning() {
+		return binning;
+	}
+
+	public int getBits() {
+		return bits;
+	}
+
+	/**
+	 * @return number of pixels added so far
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Adds one pixel.
+	 *
+	 * @param color ARGB color
+	 * @throws IllegalStateException if the histogram is full
+	 */
+	public void add(int color) {
+		if (color >>> 24 == 0) return;
+		if (total == Integer.MAX_VALUE) {
+			throw new IllegalStateException("A histogram holds at most Integer.MAX_VALUE pixels.");
+		}
+		final int r = (color >> 16) & 0xFF, g = (color >> 8) & 0xFF, b = color & 0xFF;
+		final int bin;
+		if (binning == Binning.RGB) {
+			final int shift = 8 - bits;
+			bin = ((r >> shift) << (2 * bits)) | ((g >> shift) << bits) | (b >> shift);
+		} else {
+			if (LabTable.isEnabled()) {
+				LabTable.get().lookup(color, lab, 0);
+			} else {
+				Conversions.rgbToLab(color, lab, 0);
+			}
+			final int max = (1 << bits) - 1;
+			final int l = Utils.constrain((int) (lab[0] / 100 * (1 << bits)), 0, max);
+			final int a = Utils.constrain((int) ((lab[1] + 128) / 256 * (1 << bits)), 0, max);
+			final int bb = Utils.constrain((int) ((lab[2] + 128) / 256 * (1 << bits)), 0, max);
+			bin = (l << (2 * bits)) | (a << bits) | bb;
+		}
+		counts[bin]++;
+		sums[bin * 3] += r;
+		sums[bin * 3 + 1] += g;
+		sums[bin * 3 + 2] += b;
+		total++;
+	}
+
+	/**
+	 * Adds {@code len} pixels starting at {@code argb[off]}, for example one row of an image.
+	 *
+	 * @param argb packed ARGB pixels
+	 * @param off  first pixel
+	 * @param len  number of pixels
+	 * @throws IllegalStateException if the histogram fills up
+	 */
+	public void add(@NotNull int[] argb, int off, int len) {
+		Utils.checkRange(argb.length, off, len);
+		// LAB bins and rows that may fill the histogram go through the checked add(int)
+		if (binning == Binning.LAB || total + len > Integer.MAX_VALUE) {
+			for (int i = off, end = off + len; i < end; i++) {
+				add(argb[i]);
+			}
+			return;
+		}
+		final int[] counts = this.counts;
+		final long[] sums = this.sums;
+		final int shift = 8 - bits, rShift = 2 * bits, gShift = bits;
+		int added = 0;
+		for (int i = off, end = off + len; i < end; i++) {
+			final int color = argb[i];
+			if (color >>> 24 == 0) continue;
+			final int r = (color >> 16) & 0xFF, g = (color >> 8) & 0xFF, b = color & 0xFF;
+			final int bin = ((r >> shift) << rShift) | ((g >> shift) << gShift) | (b >> shift);
+			counts[bin]++;
+			sums[bin * 3] += r;
+			sums[bin * 3 + 1] += g;
+			sums[bin * 3 + 2] += b;
+			added++;
+		}
+		total += added;
+	}
+
+	/**
+	 * Adds the counts of another histogram with the same binning and bits.
+	 *
+	 * @param other histogram to add, left unchanged
+	 * @throws IllegalStateException if the sum would not fit in one histogram
+	 */
+	public void merge(@NotNull ColorHistogram other) {
+		if (other.binning != binning || other.bits != bits) {
+			throw new IllegalArgumentException("Histograms differ in binning or bits.");
+		}
+		if (total + other.total > Integer.MAX_VALUE) {
+			throw new IllegalStateException("A histogram holds at most Integer.MAX_VALUE pixels.");
+		}
+		for (int bin = 0; bin < counts.length; bin++) {
+			counts[bin] += other.counts[bin];
+		}
+		for (int i = 0; i < sums.length; i++) {
+			sums[i] += other.sums[i];
+		}
+		total += other.total;
+	}
+
+	/**
+	 * Empties the histogram, so it can be reused for the next image.
+	 */
+	public void clear() {
+		Arrays.fill(counts, 0);
+		Arrays.fill(sums, 0);
+		total = 0;
+	}
+
+	/**
+	 * @return number of bins that hold at least one pixel
+	 */
+	int occupied() {
+		int n = 0;
+		for (int count : counts) {
+			if (count > 0) n++;
+		}
+		return n;
+	}
+
+	/**
+	 * Writes the mean color and count of every non-empty bin, in bin order.
+	 *
+	 * @param colors receives {@link #occupied()} opaque colors
+	 * @param weight receives {@link #occupied()} pixel counts
+	 */
+	void bins(int[] colors, int[] weight) {
+		for (int bin = 0, i = 0; bin < counts.length; bin++) {
+			final int count = counts[bin];
+			if (count == 0) continue;
+			colors[i] = Utils.rgb((int) ((sums[bin * 3] + count / 2) / count),
+					(int) ((sums[bin * 3 + 1] + count / 2) / count),
+					(int) ((sums[bin * 3 + 2] + count / 2) / count));
+			weight[i++] = count;
+		}
+	}
+
+	/**
+	 * Dominant colors with {@link #DEFAULT_CHROMA_WEIGHT}.
+	 *
+	 * @param n maximum number of colors
+	 * @return at most {@code n} colors, most dominant first
+	 * @see #dominant(int, float)
+	 */
+	public Palette dominant(int n) {
+		return dominant(n, DEFAULT_CHROMA_WEIGHT);
+	}
+
+	/**
+	 * Picks the bins with the highest {@code count × (1 + chromaWeight × C / 100)}, where C
+	 * is the LAB chroma of the bin's mean color, so vivid colors win over large grey areas of
+	 * similar size. A bin closer than ΔE*<sub>ab</sub> 10 to an already picked color is skipped.
+	 *
+	 * @param n            maximum number of colors
+	 * @param chromaWeight 0 ranks by count only, must not be negative
+	 * @return at most {@code n} colors with their bin counts, most dominant first
+	 */
+	public Palette dominant(int n, float chromaWeight) {
+		if (n < 1) {
+			throw new IllegalArgumentException("n must be positive.");
+		}
+		if (!(chromaWeight >= 0)) {
+			throw new IllegalArgumentException("chromaWeight must not be negative.");
+		}
+		final int size = occupied();
+		final int[] colors = new int[size];
+		final int[] weight = new int[size];
+		bins(colors, weight);
+
+		final float[] labs = new float[size * 3];
+		final long[] keys = new long[size];
+		for (int i = 0; i < size; i++) {
+			Conversions.rgbToLab(colors[i], labs, i * 3);
+			final float chroma = (float) Math.sqrt(labs[i * 3 + 1] * labs[i * 3 + 1]
+					+ labs[i * 3 + 2] * labs[i * 3 + 2]);
+			final float score = weight[i] * (1 + chromaWeight * chroma / 100);
+			// Positive floats sort like their bits; descending order through the complement
+			keys[i] = ((long) ~Float.floatToIntBits(score) << 32) | i;
+		}
+		Arrays.sort(keys);
+
+		final int[] picked = new int[Math.min(n, size)];
+		int m = 0;
+		for (int k = 0; k < size && m < picked.length; k++) {
+			final int i = (int) keys[k];
+			boolean distinct = true;
+			for (int j = 0; j < m && distinct; j++) {
+				final int p = picked[j] * 3;
+				distinct = DeltaE.cie76(labs[i * 3], labs[i * 3 + 1], labs[i * 3 + 2],
+						labs[p], labs[p + 1], labs[p + 2]) >= DOMINANT_SEPARATION;
+			}
+			if (distinct) picked[m++] = i;
+		}
+		final int[] outColors = new int[m];
+		final int[] outCounts = new int[m];
+		for (int j = 0; j < m; j++) {
+			outColors[j] = colors[picked[j]];
+			outCounts[j] = weight[picked[j]];
+		}
+		return new Palette(outColors, outCounts);
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+/**
+ * Target color spaces of the bulk conversion API.
+ * <p>
+ * Every constant corresponds to one {@link Color} implementation and lists the order of
+ * the float components written per pixel, which is the same order as the constructor
+ * arguments of that class.
+ *
+ * @author Elex
+ * @see ColorConverter
+ */
+public enum ColorSpace {
+	/**
+	 * cyan, magenta, yellow, black [0..1]
+	 */
+	CMYK(4),
+	/**
+	 * hue [0..1), saturation [0..1], lightness [0..1]
+	 */
+	HSL(3),
+	/**
+	 * hue [0..1), saturation [0..1], value [0..1]
+	 */
+	HSV(3),
+	/**
+	 * L [0..100), a [-128..127), b [-128..127)
+	 */
+	LAB(3),
+	/**
+	 * red, green, blue [0..255], the alpha component is dropped
+	 */
+	RGB(3),
+	/**
+	 * X [0..95.047), Y [0..100), Z [0..108.883)
+	 */
+	XYZ(3),
+	/**
+	 * cyan, magenta, yellow [0..1]
+	 */
+	CMY(3),
+	/**
+	 * L, a, b
+	 */
+	HUNTER_LAB(3),
+	/**
+	 * L [0..100), c, h [0..360)
+	 */
+	LCH(3),
+	/**
+	 * L, u, v
+	 */
+	LUV(3),
+	/**
+	 * Y [0..100), x [0..1], y [0..1]
+	 */
+	YXY(3);
+
+	private final int components;
+
+	ColorSpace(int components) {
+		this.components = components;
+	}
+
+	/**
+	 * @return number of float components written per pixel
+	 */
+	public int components() {
+		return components;
+	}
+}
@@ -0,0 +1,485 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.IntBuffer;
+
+/**
+ * Blending and compositing over buffers of packed ARGB colors.
+ * <p>
+ * {@link #blend} and {@link #composite(int[], int, int[], int, int, int[], int)} give the
+ * same colors as the single-color operations in {@link Utils}. On Java 21 and later their
+ * loops run on the Vector API when the {@code jdk.incubator.vector} module is added
+ * ({@code --add-modules jdk.incubator.vector}).
+ * <p>
+ * The {@link Mode} operations work on premultiplied alpha in integer math, the divisions
+ * by 255 and by the resulting alpha done as a multiply and a shift, and round to nearest
+ * once per component. Their linear variants composite in linear light through the
+ * {@link SRGB} tables instead, which keeps the brightness of antialiased edges and soft
+ * shadows right, at the cost of float math.
+ * The premultiplied variants take and give {@link Premultiplied} colors, and divide nowhere.
+ *
+ * @author Elex
+ */
+public final class Compositor {
+	/**
+	 * Porter-Duff operators and the separable blend modes of the W3C Compositing and
+	 * Blending spec, applied as {@code source} onto {@code destination}. The blend modes
+	 * mix the colors where both are present and composite the result source-over.
+	 */
+	public enum Mode {
+		CLEAR, SRC, DST, SRC_OVER, DST_OVER, SRC_IN, DST_IN, SRC_OUT, DST_OUT, SRC_ATOP,
+		DST_ATOP, XOR,
+		/**
+		 * sum of the premultiplied colors, clamped
+		 */
+		PLUS,
+		MULTIPLY, SCREEN, OVERLAY, DARKEN, LIGHTEN, COLOR_DODGE, COLOR_BURN, HARD_LIGHT,
+		SOFT_LIGHT, DIFFERENCE, EXCLUSION
+	}
+
+	private Compositor() {
+	}
+
+	/**
+	 * Blends two buffers color by color, like {@code Utils.blendARGB}.
+	 *
+	 * @param colors1 first colors
+	 * @param off1    first index in {@code colors1}
+	 * @param colors2 second colors
+	 * @param off2    first index in {@code colors2}
+	 * @param len     number of colors
+	 * @param ratio   0 gives {@code colors1}, 1 gives {@code colors2}
+	 * @param out     receives the blended colors, may be one of the inputs
+	 * @param outOff  first index to write
+	 */
+	public static void blend(@NotNull int[] colors1, int off1, @NotNull int[] colors2, int off2, int len,
+	                         float ratio, @NotNull int[] out, int outOff) {
+		Utils.checkRange(colors1.length, off1, len);
+		Utils.checkRange(colors2.length, off2, len);
+		Utils.checkRange(out.length, outOff, len);
+		Kernels.blend(colors1, off1, colors2, off2, len, ratio, out, outOff);
+	}
+
+	/**
+	 * Composites foreground colors over background colors, like
+	 * {@link Utils#compositeColors(int, int)}.
+	 *
+	 * @param foreground foreground colors
+	 * @param fgOff      first index in {@code foreground}
+	 * @param background background colors
+	 * @param bgOff      first index in {@code background}
+	 * @param len        number of colors
+	 * @param out        receives the composited colors, may be one of the inputs
+	 * @param outOff     first index to write
+	 */
+	public static void composite(@NotNull int[] foreground, int fgOff, @NotNull int[] background, int bgOff,
+	                             int len, @NotNull int[] out, int outOff) {
+		Utils.checkRange(foreground.length, fgOff, len);
+		Utils.checkRange(background.length, bgOff, len);
+		Utils.checkRange(out.length, outOff, len);
+		Kernels.composite(foreground, fgOff, background, bgOff, len, out, outOff);
+	}
+
+	/**
+	 * Composites source colors onto destination colors with premultiplied integer math.
+	 *
+	 * @param mode        operator
+	 * @param source      source ARGB colors
+	 * @param srcOff      first index in {@code source}
+	 * @param destination destination ARGB colors
+	 * @param dstOff      first index in {@code destination}
+	 * @param len         number of colors
+	 * @param out         receives the composited colors, may be one of the inputs
+	 * @param outOff      first index to write
+	 */
+	public static void composite(@NotNull Mode mode, @NotNull int[] source, int srcOff,
+	                             @NotNull int[] destination, int dstOff, int len,
+	                             @NotNull int[] out, int outOff) {
+		Utils.checkRange(source.length, srcOff, len);
+		Utils.checkRange(destination.length, dstOff, len);
+		Utils.checkRange(out.length, outOff, len);
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = composite8(mode, source[srcOff + i], destination[dstOff + i]);
+		}
+	}
+
+	/**
+	 * Composites {@code source.remaining()} colors onto the destination in place, for
+	 * example an overlay onto an image. Both positions advance past the colors.
+	 *
+	 * @param mode        operator
+	 * @param source      source ARGB colors
+	 * @param destination destination ARGB colors, receives the result
+	 */
+	public static void composite(@NotNull Mode mode, @NotNull IntBuffer source,
+	                             @NotNull IntBuffer destination) {
+		composite(mode, source, destination, Compositor::composite8);
+	}
+
+	/**
+	 * Composites source colors onto destination colors in linear light.
+	 *
+	 * @param mode        operator
+	 * @param source      source ARGB colors
+	 * @param srcOff      first index in {@code source}
+	 * @param destination destination ARGB colors
+	 * @param dstOff      first index in {@code destination}
+	 * @param len         number of colors
+	 * @param out         receives the composited colors, may be one of the inputs
+	 * @param outOff      first index to write
+	 */
+	public static void compositeLinear(@NotNull Mode mode, @NotNull int[] source, int srcOff,
+	                                   @NotNull int[] destination, int dstOff, int len,
+	                                   @NotNull int[] out, int outOff) {
+		Utils.checkRange(source.length, srcOff, len);
+		Utils.checkRange(destination.length, dstOff, len);
+		Utils.checkRange(out.length, outOff, len);
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = compositeLinear(mode, source[srcOff + i], destination[dstOff + i]);
+		}
+	}
+
+	/**
+	 * Composites {@code source.remaining()} colors onto the destination in place, in
+	 * linear light. Both positions advance past the colors.
+	 *
+	 * @param mode        operator
+	 * @param source      source ARGB colors
+	 * @param destination destination ARGB colors, receives the result
+	 */
+	public static void compositeLinear(@NotNull Mode mode, @NotNull IntBuffer source,
+	                                   @NotNull IntBuffer destination) {
+		composite(mode, source, destination, Compositor::compositeLinear);
+	}
+
+	/**
+	 * Composites premultiplied source colors onto premultiplied destination colors with
+	 * 8-bit integer math and no division, so a premultiplied pipeline need not convert.
+	 *
+	 * @param mode        operator
+	 * @param source      source premultiplied ARGB colors
+	 * @param srcOff      first index in {@code source}
+	 * @param destination destination premultiplied ARGB colors
+	 * @param dstOff      first index in {@code destination}
+	 * @param len         number of colors
+	 * @param out         receives the composited premultiplied colors, may be one of the inputs
+	 * @param outOff      first index to write
+	 * @see Premultiplied
+	 */
+	public static void compositePremultiplied(@NotNull Mode mode, @NotNull int[] source, int srcOff,
+	                                          @NotNull int[] destination, int dstOff, int len,
+	                                          @NotNull int[] out, int outOff) {
+		Utils.checkRange(source.length, srcOff, len);
+		Utils.checkRange(destination.length, dstOff, len);
+		Utils.checkRange(out.length, outOff, len);
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = compositePremultiplied(mode, source[srcOff + i], destination[dstOff + i]);
+		}
+	}
+
+	/**
+	 * Composites {@code source.remaining()} premultiplied colors onto the premultiplied
+	 * destination in place. Both positions advance past the colors.
+	 *
+	 * @param mode        operator
+	 * @param source      source premultiplied ARGB colors
+	 * @param destination destination premultiplied ARGB colors, receives the result
+	 */
+	public static void compositePremultiplied(@NotNull Mode mode, @NotNull IntBuffer source,
+	                                          @NotNull IntBuffer destination) {
+		composite(mode, source, destination, Compositor::compositePremultiplied);
+	}
+
+	/**
+	 * Blends two buffers of premultiplied colors color by color, like
+	 * {@link Premultiplied#blend(int, int, float)}.
+	 *
+	 * @param colors1 first premultiplied colors
+	 * @param off1    first index in {@code colors1}
+	 * @param colors2 second premultiplied colors
+	 * @param off2    first index in {@code colors2}
+	 * @param len     number of colors
+	 * @param ratio   0 gives {@code colors1}, 1 gives {@code colors2}
+	 * @param out     receives the blended premultiplied colors, may be one of the inputs
+	 * @param outOff  first index to write
+	 */
+	public static void blendPremultiplied(@NotNull int[] colors1, int off1, @NotNull int[] colors2, int off2,
+	                                      int len, float ratio, @NotNull int[] out, int outOff) {
+		Utils.checkRange(colors1.length, off1, len);
+		Utils.checkRange(colors2.length, off2, len);
+		Utils.checkRange(out.length, outOff, len);
+		final int w = Utils.constrain(Math.round(ratio * 255), 0, 255);
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = Premultiplied.lerp(colors1[off1 + i], colors2[off2 + i], w);
+		}
+	}
+
+	private interface Operator {
+		int apply(Mode mode, int src, int dst);
+	}
+
+	private static void composite(Mode mode, IntBuffer source, IntBuffer destination, Operator operator) {
+		final int len = source.remaining();
+		if (destination.remaining() < len) {
+			throw new IllegalArgumentException("destination has " + destination.remaining()
+					+ " colors remaining, source " + len);
+		}
+		if (destination.isReadOnly()) {
+			throw new IllegalArgumentException("destination is read-only.");
+		}
+		final int srcPos = source.position(), dstPos = destination.position();
+		if (source.hasArray() && destination.hasArray()) {
+			final int[] src = source.array(), dst = destination.array();
+			final int srcOff = source.arrayOffset() + srcPos, dstOff = destination.arrayOffset() + dstPos;
+			for (int i = 0; i < len; i++) {
+				dst[dstOff + i] = operator.apply(mode, src[srcOff + i], dst[dstOff + i]);
+			}
+		} else {
+			for (int i = 0; i < len; i++) {
+				destination.put(dstPos + i, operator.apply(mode, source.get(srcPos + i), destination.get(dstPos + i)));
+			}
+		}
+		source.position(srcPos + len);
+		destination.position(dstPos + len);
+	}
+
+	/**
+	 * Porter-Duff fractions of the source and the destination of {@code mode} [0..255],
+	 * packed as {@code fa << 8 | fb}. The blend modes composite source-over.
+	 */
+	private static int fractions(Mode mode, int sa, int da) {
+		int fa = 0, fb = 0;
+		switch (mode) {
+			case CLEAR:
+				break;
+			case SRC:
+				fa = 255;
+				break;
+			case DST:
+				fb = 255;
+				break;
+			case DST_OVER:
+				fa = 255 - da;
+				fb = 255;
+				break;
+			case SRC_IN:
+				fa = da;
+				break;
+			case DST_IN:
+				fb = sa;
+				break;
+			case SRC_OUT:
+				fa = 255 - da;
+				break;
+			case DST_OUT:
+				fb = 255 - sa;
+				break;
+			case SRC_ATOP:
+				fa = da;
+				fb = 255 - sa;
+				break;
+			case DST_ATOP:
+				fa = 255 - da;
+				fb = sa;
+				break;
+			case XOR:
+				fa = 255 - da;
+				fb = 255 - sa;
+				break;
+			case PLUS:
+				fa = fb = 255;
+				break;
+			default: // SRC_OVER and the blend modes
+				fa = 255;
+				fb = 255 - sa;
+		}
+		return fa << 8 | fb;
+	}
+
+	/**
+	 * One color of {@link Mode} {@code mode} in premultiplied integer math.
+	 */
+	private static int composite8(Mode mode, int src, int dst) {
+		final int sa = src >>> 24, da = dst >>> 24;
+		if (mode == Mode.SRC_OVER) {
+			// Most pixels of an overlay are clear or opaque
+			if (sa == 255) return src;
+			if (sa == 0) return da == 0 ? 0 : dst;
+		}
+		final int fractions = fractions(mode, sa, da);
+		final int fa = fractions >>> 8, fb = fractions & 0xFF;
+		// Alphas and premultiplied colors are kept at 255² scale, so rounding happens once
+		final int alpha = sa * fa + da * fb;
+		if (alpha == 0) return 0;
+		final int ao = Math.min(255, Premultiplied.div255(Math.min(alpha, 255 * 255)));
+		final boolean blends = mode.ordinal() > Mode.PLUS.ordinal();
+		final int sada = sa * da;
+		// round(co / alpha) is floor((2co + alpha) / 2alpha); with co / alpha under 511 and
+		// co under 2^26 the reciprocal at 2^45 scale gives it exactly and stays in a long
+		final int divisor = Math.min(alpha, 255 * 255);
+		final long reciprocal = ((1L << 44) + divisor - 1) / divisor;
+		int argb = ao << 24;
+		for (int shift = 16; shift >= 0; shift -= 8) {
+			final int s = (src >> shift) & 0xFF, d = (dst >> shift) & 0xFF;
+			final int sp = s * sa, dp = d * da;
+			final int co = blends
+					? sp * (255 - da) + dp * (255 - sa) + sada * blend8(mode, s, d)
+					: sp * fa + dp * fb;
+			argb |= Math.min(255, (int) (((2L * co + divisor) * reciprocal) >>> 45)) << shift;
+		}
+		return argb;
+	}
+
+	/**
+	 * One color of {@link Mode} {@code mode} on premultiplied colors in 8-bit math.
+	 */
+	private static int compositePremultiplied(Mode mode, int src, int dst) {
+		final int sa = src >>> 24, da = dst >>> 24;
+		if (mode == Mode.SRC_OVER) {
+			return Premultiplied.compositeColors(src, dst);
+		}
+		if (mode == Mode.PLUS) {
+			return Math.min(255, sa + da) << 24
+					| Math.min(255, ((src >> 16) & 0xFF) + ((dst >> 16) & 0xFF)) << 16
+					| Math.min(255, ((src >> 8) & 0xFF) + ((dst >> 8) & 0xFF)) << 8
+					| Math.min(255, (src & 0xFF) + (dst & 0xFF));
+		}
+		final int fractions = fractions(mode, sa, da);
+		final int fa = fractions >>> 8, fb = fractions & 0xFF;
+		final int ao = Premultiplied.div255(sa * fa + da * fb);
+		if (ao == 0) return 0;
+		final boolean blends = mode.ordinal() > Mode.PLUS.ordinal();
+		final int sada = blends ? Premultiplied.div255(sa * da) : 0;
+		int argb = ao << 24;
+		for (int shift = 16; shift >= 0; shift -= 8) {
+			final int sp = (src >> shift) & 0xFF, dp = (dst >> shift) & 0xFF;
+			int co;
+			if (blends) {
+				final int s = sa == 0 ? 0 : Premultiplied.unpremultiply(sp, sa);
+				final int d = da == 0 ? 0 : Premultiplied.unpremultiply(dp, da);
+				co = Premultiplied.div255(sp * (255 - da) + dp * (255 - sa) + sada * blend8(mode, s, d));
+			} else {
+				co = Premultiplied.div255(sp * fa + dp * fb);
+			}
+			argb |= Math.min(co, ao) << shift;
+		}
+		return argb;
+	}
+
+	/**
+	 * Blend function of the blend mode {@code mode} on straight 8-bit components.
+	 */
+	private static int blend8(Mode mode, int s, int d) {
+		switch (mode) {
+			case MULTIPLY:
+				return Premultiplied.div255(s * d);
+			case SCREEN:
+				return s + d - Premultiplied.div255(s * d);
+			case OVERLAY:
+				return hardLight8(d, s);
+			case DARKEN:
+				return Math.min(s, d);
+			case LIGHTEN:
+				return Math.max(s, d);
+			case COLOR_DODGE:
+				if (d == 0) return 0;
+				if (s == 255) return 255;
+				return Math.min(255, (d * 255 + (255 - s) / 2) / (255 - s));
+			case COLOR_BURN:
+				if (d == 255) return 255;
+				if (s == 0) return 0;
+				return 255 - Math.min(255, ((255 - d) * 255 + s / 2) / s);
+			case HARD_LIGHT:
+				return hardLight8(s, d);
+			case SOFT_LIGHT:
+				return Math.round(softLight(s / 255f, d / 255f) * 255);
+			case DIFFERENCE:
+				return Math.abs(s - d);
+			default: // EXCLUSION
+				return s + d - 2 * Premultiplied.div255(s * d);
+		}
+	}
+
+	private static int hardLight8(int s, int d) {
+		return s <= 127 ? Premultiplied.div255(2 * s * d) : 2 * s - 255 + d - Premultiplied.div255((2 * s - 255) * d);
+	}
+
+	/**
+	 * One color of {@link Mode} {@code mode} in linear light.
+	 */
+	private static int compositeLinear(Mode mode, int src, int dst) {
+		final float sa = (src >>> 24) / 255f, da = (dst >>> 24) / 255f;
+		final int fractions = fractions(mode, src >>> 24, dst >>> 24);
+		final float fa = (fractions >>> 8) / 255f, fb = (fractions & 0xFF) / 255f;
+		final float ao = Math.min(1, sa * fa + da * fb);
+		final int a = Math.round(ao * 255);
+		if (a == 0) return 0;
+		final boolean blends = mode.ordinal() > Mode.PLUS.ordinal();
+		int argb = a << 24;
+		for (int shift = 16; shift >= 0; shift -= 8) {
+			final float s = SRGB.LINEAR[(src >> shift) & 0xFF], d = SRGB.LINEAR[(dst >> shift) & 0xFF];
+			final float co;
+			if (blends) {
+				co = s * sa * (1 - da) + d * da * (1 - sa) + sa * da * blendLinear(mode, s, d);
+			} else {
+				co = s * sa * fa + d * da * fb;
+			}
+			argb |= SRGB.fromLinear8(co / ao) << shift;
+		}
+		return argb;
+	}
+
+	/**
+	 * Blend function of the blend mode {@code mode} on straight linear components.
+	 */
+	private static float blendLinear(Mode mode, float s, float d) {
+		switch (mode) {
+			case MULTIPLY:
+				return s * d;
+			case SCREEN:
+				return s + d - s * d;
+			case OVERLAY:
+				return hardLight(d, s);
+			case DARKEN:
+				return Math.min(s, d);
+			case LIGHTEN:
+				return Math.max(s, d);
+			case COLOR_DODGE:
+				if (d == 0) return 0;
+				if (s == 1) return 1;
+				return Math.min(1, d / (1 - s));
+			case COLOR_BURN:
+				if (d == 1) return 1;
+				if (s == 0) return 0;
+				return 1 - Math.min(1, (1 - d) / s);
+			case HARD_LIGHT:
+				return hardLight(s, d);
+			case SOFT_LIGHT:
+				return softLight(s, d);
+			case DIFFERENCE:
+				return Math.abs(s - d);
+			default: // EXCLUSION
+				return s + d - 2 * s * d;
+		}
+	}
+
+	private static float hardLight(float s, float d) {
+		return s <= 0.5f ? 2 * s * d : 2 * s - 1 + d - (2 * s - 1) * d;
+	}
+
+	private static float softLight(float s, float d) {
+		if (s <= 0.5f) {
+			return d - (1 - 2 * s) * d * (1 - d);
+		}
+		final float e = d <= 0.25f ? ((16 * d - 12) * d + 4) * d : (float) Math.sqrt(d);
+		return d + (2 * s - 1) * (e - d);
+	}
+}
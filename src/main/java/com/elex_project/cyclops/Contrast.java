@@ -0,0 +1,415 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * WCAG contrast ratios, one pair at a time or in batches.
+ * <p>
+ * The relative luminance of a color is read through the sRGB linearization table and
+ * computed once per color in a batch, and nothing is allocated per pair. A translucent
+ * foreground is composited over each background first, as in
+ * {@link Utils#calculateContrast(int, int)}, whose results are reproduced exactly.
+ * Backgrounds must be opaque.
+ *
+ * @author Elex
+ */
+public final class Contrast {
+	/**
+	 * Minimum contrast of normal text, WCAG level AA
+	 */
+	public static final double AA = 4.5;
+	/**
+	 * Minimum contrast of normal text, WCAG level AAA
+	 */
+	public static final double AAA = 7;
+
+	/**
+	 * Secant steps of the estimate in {@link #search}
+	 */
+	private static final int SECANT_STEPS = 2;
+
+	private Contrast() {
+	}
+
+	/**
+	 * Relative luminance of a color, the alpha component is ignored.
+	 *
+	 * @param color ARGB color
+	 * @return luminance [0..1]
+	 */
+	public static double luminance(int color) {
+		return Conversions.rgbToY(color) / 100;
+	}
+
+	/**
+	 * Writes the relative luminance of {@code len} colors.
+	 *
+	 * @param colors ARGB colors, the alpha component is ignored
+	 * @param off    first color
+	 * @param len    number of colors
+	 * @param out    receives the luminances
+	 * @param outOff first index to write
+	 */
+	public static void luminances(@NotNull int[] colors, int off, int len, @NotNull double[] out, int outOff) {
+		Utils.checkRange(colors.length, off, len);
+		Utils.checkRange(out.length, outOff, len);
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = luminance(colors[off + i]);
+		}
+	}
+
+	/**
+	 * Contrast ratio of two relative luminances, the lighter over the darker.
+	 *
+	 * @return ratio [1..21]
+	 */
+	public static double ratio(double luminance1, double luminance2) {
+		final double l1 = luminance1 + 0.05;
+		final double l2 = luminance2 + 0.05;
+		return Math.max(l1, l2) / Math.min(l1, l2);
+	}
+
+	/**
+	 * Contrast ratio of a foreground over an opaque background, same as
+	 * {@link Utils#calculateContrast(int, int)}.
+	 */
+	public static double contrast(int foreground, int background) {
+		checkOpaque(background);
+		return contrast(foreground, background, luminance(background));
+	}
+
+	/**
+	 * @param backgroundLuminance luminance of the opaque background
+	 */
+	private static double contrast(int foreground, int background, double backgroundLuminance) {
+		if (Utils.alpha(foreground) < 255) {
+			foreground = Utils.compositeColors(foreground, background);
+		}
+		return ratio(luminance(foreground), backgroundLuminance);
+	}
+
+	/**
+	 * Contrast ratios of one foreground over {@code len} backgrounds.
+	 *
+	 * @param foreground  ARGB color, may be translucent
+	 * @param backgrounds opaque ARGB colors
+	 * @param off         first background
+	 * @param len         number of backgrounds
+	 * @param out         receives one ratio per background
+	 * @param outOff      first index to write
+	 */
+	public static void contrasts(int foreground, @NotNull int[] backgrounds, int off, int len,
+	                             @NotNull double[] out, int outOff) {
+		Utils.checkRange(backgrounds.length, off, len);
+		Utils.checkRange(out.length, outOff, len);
+		final boolean opaque = Utils.alpha(foreground) == 255;
+		final double foregroundLuminance = luminance(foreground);
+		for (int i = 0; i < len; i++) {
+			final int background = backgrounds[off + i];
+			checkOpaque(background);
+			out[outOff + i] = opaque
+					? ratio(foregroundLuminance, luminance(background))
+					: contrast(foreground, background, luminance(background));
+		}
+	}
+
+	/**
+	 * Computes the {@code rows × cols} contrast matrix of foregrounds over backgrounds.
+	 * {@code out[outOff + i * cols + j]} is the ratio of foreground {@code i} over
+	 * background {@code j}. Every luminance is computed once, except for translucent
+	 * foregrounds, which are composited per pair.
+	 *
+	 * @param foregrounds ARGB colors, may be translucent
+	 * @param fgOff       first foreground
+	 * @param rows        number of foregrounds
+	 * @param backgrounds opaque ARGB colors
+	 * @param bgOff       first background
+	 * @param cols        number of backgrounds
+	 * @param out         receives {@code rows * cols} ratios, row-major
+	 * @param outOff      first index to write
+	 */
+	public static void matrix(@NotNull int[] foregrounds, int fgOff, int rows,
+	                          @NotNull int[] backgrounds, int bgOff, int cols,
+	                          @NotNull double[] out, int outOff) {
+		Utils.checkRange(foregrounds.length, fgOff, rows);
+		Utils.checkRange(backgrounds.length, bgOff, cols);
+		Utils.checkRange(out.length, outOff, rows * cols);
+		final double[] backgroundLuminance = new double[cols];
+		for (int j = 0; j < cols; j++) {
+			checkOpaque(backgrounds[bgOff + j]);
+			backgroundLuminance[j] = luminance(backgrounds[bgOff + j]);
+		}
+		for (int i = 0; i < rows; i++) {
+			final int foreground = foregrounds[fgOff + i];
+			if (Utils.alpha(foreground) == 255) {
+				final double foregroundLuminance = luminance(foreground);
+				for (int j = 0; j < cols; j++) {
+					out[outOff++] = ratio(foregroundLuminance, backgroundLuminance[j]);
+				}
+			} else {
+				for (int j = 0; j < cols; j++) {
+					out[outOff++] = contrast(foreground, backgrounds[bgOff + j], backgroundLuminance[j]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Minimum alpha of {@code foreground} for a contrast of at least {@code minContrastRatio}
+	 * over {@code background}.
+	 * <p>
+	 * The result is the least alpha that passes. The search starts from an estimate solved
+	 * in linear light and rules out ranges of alphas whole by a bound on their contrast,
+	 * so it usually tests one or two alphas and a few bounds, fewer luminances than
+	 * bisecting, and composites without a division. Where the contrast grows with
+	 * the alpha, this is the alpha
+	 * {@link Utils#calculateMinimumAlpha(int, int, float)} finds by bisection. Where 8-bit
+	 * rounding or channels moving in opposite directions make the contrast dip while the
+	 * alpha grows, which happens for about one reachable pair in a hundred, the bisection may
+	 * settle on a greater alpha.
+	 *
+	 * @param foreground       ARGB color, its alpha is ignored
+	 * @param background       opaque ARGB color
+	 * @param minContrastRatio the minimum contrast ratio
+	 * @return the alpha value in the range 0-255, or -1 if even the opaque foreground has not
+	 * enough contrast
+	 */
+	public static int minimumAlpha(int foreground, int background, float minContrastRatio) {
+		checkOpaque(background);
+		return minimumAlpha(foreground, background, luminance(background), minContrastRatio);
+	}
+
+	private static int minimumAlpha(int foreground, int background, double backgroundLuminance,
+	                                float minContrastRatio) {
+		final double foregroundLuminance = luminance(foreground);
+		if (ratio(foregroundLuminance, backgroundLuminance) < minContrastRatio) {
+			return -1;
+		}
+		return search(foreground, background, backgroundLuminance, foregroundLuminance,
+				minContrastRatio, false);
+	}
+
+	/**
+	 * Minimum alphas of {@code len} foregrounds over one background, see
+	 * {@link #minimumAlpha(int, int, float)}.
+	 *
+	 * @param foregrounds      ARGB colors, their alpha is ignored
+	 * @param off              first foreground
+	 * @param len              number of foregrounds
+	 * @param background       opaque ARGB color
+	 * @param minContrastRatio the minimum contrast ratio
+	 * @param out              receives one alpha, or -1, per foreground
+	 * @param outOff           first index to write
+	 */
+	public static void minimumAlphas(@NotNull int[] foregrounds, int off, int len, int background,
+	                                 float minContrastRatio, @NotNull int[] out, int outOff) {
+		Utils.checkRange(foregrounds.length, off, len);
+		Utils.checkRange(out.length, outOff, len);
+		checkOpaque(background);
+		final double backgroundLuminance = luminance(background);
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = minimumAlpha(foregrounds[off + i], background, backgroundLuminance,
+					minContrastRatio);
+		}
+	}
+
+	/**
+	 * Minimum alpha of {@code background}, blended over the opaque foreground, for a contrast
+	 * of at least {@code minContrastRatio}, found like {@link #minimumAlpha(int, int, float)}.
+	 * Where the contrast grows with the alpha, the result is the one of
+	 * {@link Utils#calculateMinimumBackgroundAlpha(int, int, float)}.
+	 *
+	 * @param foreground       ARGB color
+	 * @param background       ARGB color, its alpha is ignored
+	 * @param minContrastRatio the minimum contrast ratio
+	 * @return the alpha value in the range 0-255
+	 */
+	public static int minimumBackgroundAlpha(int foreground, int background, float minContrastRatio) {
+		background = Utils.setAlphaComponent(background, 255);
+		return search(foreground, background, luminance(foreground), luminance(background),
+				minContrastRatio, true);
+	}
+
+	/**
+	 * Finds the least alpha in [1..255] where the contrast passes, or 255 if none does.
+	 * <p>
+	 * The search starts from an {@link #estimate}. The alphas below it are ruled out by the
+	 * {@link #maxContrast bound} of one range, which is shrunk from the estimate in steps
+	 * of doubling width until the bound rules it out, and the alphas left next to the estimate
+	 * are searched. Then the estimate is tested, and the alphas above it are searched in
+	 * ranges of doubling width. For an estimate off by one, this tests two alphas and one
+	 * bound.
+	 *
+	 * @param fixedLuminance luminance of the color that does not change with the alpha,
+	 *                       and of the tested color at alpha 0
+	 * @param toLuminance    luminance of the tested color at alpha 255
+	 */
+	private static int search(int foreground, int background, double fixedLuminance, double toLuminance,
+	                          float minContrastRatio, boolean alphaOfBackground) {
+		final int estimate = estimate(foreground, background, fixedLuminance, toLuminance,
+				minContrastRatio, alphaOfBackground);
+		// Rule out the alphas below the one next to the estimate
+		int below = Math.max(1, estimate - 1);
+		for (int width = 1; below > 1 && maxContrast(foreground, background, fixedLuminance,
+				alphaOfBackground, 1, below - 1) >= minContrastRatio; width <<= 1) {
+			below = Math.max(1, below - width);
+		}
+		if (below < estimate) {
+			final int alpha = least(foreground, background, fixedLuminance, minContrastRatio,
+					alphaOfBackground, below, estimate - 1);
+			if (alpha >= 0) return alpha;
+		}
+		if (passes(foreground, background, fixedLuminance, minContrastRatio, alphaOfBackground, estimate)) {
+			return estimate;
+		}
+		for (int lo = estimate + 1, width = 1; lo < 255; lo += width, width <<= 1) {
+			final int alpha = least(foreground, background, fixedLuminance, minContrastRatio,
+					alphaOfBackground, lo, Math.min(lo + width - 1, 254));
+			if (alpha >= 0) return alpha;
+		}
+		return 255;
+	}
+
+	/**
+	 * First guess [1..254] of the least passing alpha, where the luminance reaches the
+	 * contrast. It is solved for from the chord between the two ends, refined by
+	 * {@value #SECANT_STEPS} secant steps through the luminances of exact 8-bit colors.
+	 */
+	private static int estimate(int foreground, int background, double fixedLuminance, double toLuminance,
+	                            float minContrastRatio, boolean alphaOfBackground) {
+		// A translucent foreground over the blend is not modelled
+		if (alphaOfBackground && Utils.alpha(foreground) != 255) return 127;
+		final double target = toLuminance > fixedLuminance
+				? minContrastRatio * (fixedLuminance + 0.05) - 0.05
+				: (fixedLuminance + 0.05) / minContrastRatio - 0.05;
+		// Secant steps on the square root of the luminance, close to linear in the alpha
+		final double root = Math.sqrt(Math.max(0, target));
+		double a0 = 0, y0 = Math.sqrt(fixedLuminance), a1 = 255, y1 = Math.sqrt(toLuminance);
+		for (int n = 0; ; n++) {
+			final double alpha = y1 == y0 ? a1 : a1 - (y1 - root) * (a1 - a0) / (y1 - y0);
+			if (n == SECANT_STEPS || y1 == y0) {
+				return alpha >= 1 ? (int) Math.min(Math.ceil(alpha), 254) : 1;
+			}
+			a0 = a1;
+			y0 = y1;
+			a1 = alpha >= 1 ? (int) Math.min(alpha + 0.5, 254) : 1;
+			y1 = Math.sqrt(luminance(colorAt(foreground, background, alphaOfBackground, (int) a1)));
+		}
+	}
+
+	private static boolean passes(int foreground, int background, double fixedLuminance,
+	                              float minContrastRatio, boolean alphaOfBackground, int alpha) {
+		final int color = colorAt(foreground, background, alphaOfBackground, alpha);
+		final double luminance = luminance(color);
+		// A translucent foreground is composited over each blend of the background
+		final double contrast = alphaOfBackground && Utils.alpha(foreground) != 255
+				? contrast(foreground, color, luminance)
+				: ratio(luminance, fixedLuminance);
+		return contrast >= minContrastRatio;
+	}
+
+	/**
+	 * Least alpha in [lo..hi] where the contrast passes, or -1. A range whose
+	 * {@link #maxContrast bound} fails is skipped, the left half is searched before the
+	 * right. Where the contrast grows with the alpha, only the ranges along one path down
+	 * are opened, as in bisection.
+	 */
+	private static int least(int foreground, int background, double fixedLuminance,
+	                         float minContrastRatio, boolean alphaOfBackground, int lo, int hi) {
+		if (hi - lo < 4) {
+			// Testing a few alphas costs less than bounding them
+			for (int alpha = lo; alpha <= hi; alpha++) {
+				if (passes(foreground, background, fixedLuminance, minContrastRatio, alphaOfBackground, alpha)) {
+					return alpha;
+				}
+			}
+			return -1;
+		}
+		if (maxContrast(foreground, background, fixedLuminance, alphaOfBackground, lo, hi) < minContrastRatio) {
+			return -1;
+		}
+		final int mid = (lo + hi) >>> 1;
+		final int alpha = least(foreground, background, fixedLuminance, minContrastRatio,
+				alphaOfBackground, lo, mid);
+		return alpha >= 0 ? alpha : least(foreground, background, fixedLuminance, minContrastRatio,
+				alphaOfBackground, mid + 1, hi);
+	}
+
+	/**
+	 * Upper bound of the contrast at the alphas [lo..hi].
+	 * <p>
+	 * Every channel of {@link #colorAt} moves monotonically with the alpha, the float blend
+	 * of {@link Utils#blendARGB(int, int, float)} up to one step of rounding, so the colors
+	 * of the range lie in a box of channels given by its ends. The luminance and the
+	 * composite over an opaque color grow with every channel, so the darkest and the
+	 * lightest corner of the box bound the luminances, and the contrast, computed with the
+	 * same rounding.
+	 */
+	private static double maxContrast(int foreground, int background, double fixedLuminance,
+	                                  boolean alphaOfBackground, int lo, int hi) {
+		final int from = alphaOfBackground ? foreground : background;
+		final int to = alphaOfBackground ? background : foreground;
+		final int slack = alphaOfBackground ? 1 : 0;
+		final int r0 = blend(Utils.red(from), Utils.red(to), lo), r1 = blend(Utils.red(from), Utils.red(to), hi);
+		final int g0 = blend(Utils.green(from), Utils.green(to), lo), g1 = blend(Utils.green(from), Utils.green(to), hi);
+		final int b0 = blend(Utils.blue(from), Utils.blue(to), lo), b1 = blend(Utils.blue(from), Utils.blue(to), hi);
+		final int dark = Utils.rgb(Math.max(0, Math.min(r0, r1) - slack),
+				Math.max(0, Math.min(g0, g1) - slack), Math.max(0, Math.min(b0, b1) - slack));
+		final int light = Utils.rgb(Math.min(255, Math.max(r0, r1) + slack),
+				Math.min(255, Math.max(g0, g1) + slack), Math.min(255, Math.max(b0, b1) + slack));
+		final double darkest = luminance(dark) + 0.05, lightest = luminance(light) + 0.05;
+		if (alphaOfBackground && Utils.alpha(foreground) != 255) {
+			final double darkestOver = luminance(Utils.compositeColors(foreground, dark)) + 0.05;
+			final double lightestOver = luminance(Utils.compositeColors(foreground, light)) + 0.05;
+			return Math.max(lightestOver / darkest, lightest / darkestOver);
+		}
+		final double fixed = fixedLuminance + 0.05;
+		return Math.max(lightest / fixed, fixed / darkest);
+	}
+
+	/**
+	 * @return {@code (c0 * (255 - alpha) + c1 * alpha) / 255}, rounded down
+	 */
+	private static int blend(int c0, int c1, int alpha) {
+		return ((c0 * (255 - alpha) + c1 * alpha) * 0x8081) >>> 23;
+	}
+
+	/**
+	 * Color tested at one alpha by {@link Utils#calculateMinimumAlpha(int, int, float)} or
+	 * {@link Utils#calculateMinimumBackgroundAlpha(int, int, float)}, without their divisions.
+	 *
+	 * @return the foreground composited over the background, or the opaque foreground
+	 * blended toward the background
+	 */
+	private static int colorAt(int foreground, int background, boolean alphaOfBackground, int alpha) {
+		final int fr = Utils.red(foreground), fg = Utils.green(foreground), fb = Utils.blue(foreground);
+		final int br = Utils.red(background), bg = Utils.green(background), bb = Utils.blue(background);
+		if (!alphaOfBackground) {
+			// Utils.compositeColors over an opaque background: (f * a + b * (255 - a)) / 255
+			final int inverse = 255 - alpha;
+			return Utils.rgb(((fr * alpha + br * inverse) * 0x8081) >>> 23,
+					((fg * alpha + bg * inverse) * 0x8081) >>> 23,
+					((fb * alpha + bb * inverse) * 0x8081) >>> 23);
+		}
+		// Utils.blendARGB
+		final float ratio = alpha / 255f;
+		final float inverse = 1 - ratio;
+		return Utils.rgb((int) (fr * inverse + br * ratio),
+				(int) (fg * inverse + bg * ratio),
+				(int) (fb * inverse + bb * ratio));
+	}
+
+	private static void checkOpaque(int background) {
+		if (Utils.alpha(background) != 255) {
+			throw new IllegalArgumentException("background can not be translucent: #"
+					+ Integer.toHexString(background));
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Finds the color closest to a given one, by ΔE*<sub>ab</sub>, that reaches a WCAG contrast
+ * ratio against one or more backgrounds, for example to fix up brand colors for text.
+ * <p>
+ * The hue is kept. In CIE LAB the lightness alone decides the luminance, so the contrast
+ * limits turn into a few ranges of lightness, solved for in closed form. The solver moves
+ * the lightness to the nearest edge of those ranges, lighter or darker, and keeps as much
+ * of the chroma as fits the sRGB gamut at the new lightness. Candidates a little further
+ * out are tried while they could still be closer, and every candidate is checked with the
+ * exact contrast of its 8-bit color. If no lightness reaches the ratio, the result is black
+ * or white, whichever has the higher contrast.
+ * <p>
+ * The alpha of the colors is ignored. The results are opaque, and the backgrounds must be
+ * opaque.
+ *
+ * @author Elex
+ * @see Contrast
+ */
+public final class ContrastSolver {
+	/**
+	 * Lightness step of the candidates
+	 */
+	private static final float STEP = 0.1f;
+
+	private ContrastSolver() {
+	}
+
+	/**
+	 * @param color            ARGB color
+	 * @param background       opaque ARGB color
+	 * @param minContrastRatio contrast to reach, e.g. {@link Contrast#AA}
+	 * @return the opaque color closest to {@code color} with at least that contrast
+	 */
+	public static int nearest(int color, int background, double minContrastRatio) {
+		return new Targets(new int[]{background}, 0, 1, minContrastRatio).solve(color);
+	}
+
+	/**
+	 * @param color            ARGB color
+	 * @param backgrounds      opaque ARGB colors
+	 * @param off              first background
+	 * @param len              number of backgrounds
+	 * @param minContrastRatio contrast to reach against every background
+	 * @return the opaque color closest to {@code color} with at least that contrast
+	 */
+	public static int nearest(int color, @NotNull int[] backgrounds, int off, int len,
+	                          double minContrastRatio) {
+		return new Targets(backgrounds, off, len, minContrastRatio).solve(color);
+	}
+
+	/**
+	 * Fixes up a palette: writes the closest color reaching the contrast against every
+	 * background for each color, or the color itself if it already does.
+	 *
+	 * @param colors           ARGB colors
+	 * @param off              first color
+	 * @param len              number of colors
+	 * @param backgrounds      opaque ARGB colors
+	 * @param bgOff            first background
+	 * @param bgLen            number of backgrounds
+	 * @param minContrastRatio contrast to reach against every background
+	 * @param out              receives one opaque color per color
+	 * @param outOff           first index to write
+	 */
+	public static void nearest(@NotNull int[] colors, int off, int len,
+	                           @NotNull int[] backgrounds, int bgOff, int bgLen,
+	                           double minContrastRatio, @NotNull int[] out, int outOff) {
+		Utils.checkRange(colors.length, off, len);
+		Utils.checkRange(out.length, outOff, len);
+		final Targets targets = new Targets(backgrounds, bgOff, bgLen, minContrastRatio);
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = targets.solve(colors[off + i]);
+		}
+	}
+
+	/**
+	 * Backgrounds with their luminance and the luminance range each one rules out.
+	 */
+	private static final class Targets {
+		private final double ratio;
+		private final double[] luminance;
+		/**
+		 * Luminances strictly between {@code darker[i]} and {@code lighter[i]} have too
+		 * little contrast against background {@code i}.
+		 */
+		private final double[] darker, lighter;
+		private final float[] lab = new float[3];
+
+		Targets(int[] backgrounds, int off, int len, double ratio) {
+			Utils.checkRange(backgrounds.length, off, len);
+			if (len < 1) {
+				throw new IllegalArgumentException("No background.");
+			}
+			if (!(ratio >= 1 && ratio <= 21)) {
+				throw new IllegalArgumentException("minContrastRatio must be in [1, 21].");
+			}
+			this.ratio = ratio;
+			this.luminance = new double[len];
+			this.darker = new double[len];
+			this.lighter = new double[len];
+			for (int i = 0; i < len; i++) {
+				final int background = backgrounds[off + i];
+				if (Utils.alpha(background) != 255) {
+					throw new IllegalArgumentException("background can not be translucent: #"
+							+ Integer.toHexString(background));
+				}
+				luminance[i] = Contrast.luminance(background);
+				darker[i] = (luminance[i] + 0.05) / ratio - 0.05;
+				lighter[i] = ratio * (luminance[i] + 0.05) - 0.05;
+			}
+		}
+
+		int solve(int color) {
+			color |= 0xFF000000;
+			if (passes(color)) return color;
+
+			Conversions.rgbToLch(color, lab, 0);
+			final float l0 = lab[0], c0 = lab[1], h = lab[2];
+			final double y0 = Contrast.luminance(color);
+
+			int best = 0;
+			double bestDistance = Double.POSITIVE_INFINITY;
+			for (int direction = -1; direction <= 1; direction += 2) {
+				// Nearest luminance in this direction outside every ruled out range
+				double y = y0;
+				for (boolean moved = true; moved; ) {
+					moved = false;
+					for (int i = 0; i < luminance.length; i++) {
+						if (darker[i] < y && y < lighter[i]) {
+							y = direction > 0 ? lighter[i] : darker[i];
+							moved = true;
+						}
+					}
+				}
+				if (y < 0 || y > 1) continue;
+
+				for (float l = lightness(y); l >= 0 && l <= 100 && Math.abs(l - l0) < bestDistance;
+				     l += direction * STEP) {
+					final float c = Conversions.maxChroma(l, c0, h);
+					final int candidate = Conversions.lchToRgb(l, c, h);
+					if (!passes(candidate)) continue;
+					Conversions.rgbToLab(candidate, lab, 0);
+					final double distance = distance(l0, c0, h, lab);
+					if (distance < bestDistance) {
+						bestDistance = distance;
+						best = candidate;
+					}
+				}
+			}
+			if (bestDistance == Double.POSITIVE_INFINITY) {
+				best = minContrast(0xFF000000) >= minContrast(0xFFFFFFFF) ? 0xFF000000 : 0xFFFFFFFF;
+			}
+			return best;
+		}
+
+		private boolean passes(int color) {
+			return minContrast(color) >= ratio;
+		}
+
+		private double minContrast(int color) {
+			final double y = Contrast.luminance(color);
+			double min = Double.POSITIVE_INFINITY;
+			for (double background : luminance) {
+				min = Math.min(min, Contrast.ratio(y, background));
+			}
+			return min;
+		}
+	}
+
+	/**
+	 * CIE L* of a relative luminance [0..1]
+	 */
+	private static float lightness(double y) {
+		final double f = y > 0.008856 ? Math.cbrt(y) : 7.787 * y + 16 / 116.0;
+		return (float) (116 * f - 16);
+	}
+
+	/**
+	 * ΔE*<sub>ab</sub> between CIE LCh° and CIE LAB
+	 */
+	private static double distance(float l, float c, float h, float[] lab) {
+		final double a = Math.cos(Math.PI / 180 * h) * c;
+		final double b = Math.sin(Math.PI / 180 * h) * c;
+		return DeltaE.cie76(l, (float) a, (float) b, lab[0], lab[1], lab[2]);
+	}
+}
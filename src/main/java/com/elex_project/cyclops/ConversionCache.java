@@ -0,0 +1,361 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Bounded cache of the conversions of 24-bit RGB colors to CIE LAB or CIE LCh°, safe to share
+ * between threads.
+ * <p>
+ * Images and themes reuse few of the 16.7M colors, so a small cache catches most
+ * conversions without the 96 MiB of the {@link LabTable}. The table is set-associative:
+ * a color hashes to a bucket of 8 slots holding the packed RGB key and the three float
+ * components, and CLOCK picks the slot to replace when the bucket is full. A new color only
+ * gets its second chance once it is hit again, so one-off colors leave first. Buckets are
+ * guarded by striped {@link StampedLock}s: hits read optimistically without locking, and
+ * only misses take a write lock. The alpha of the colors is ignored.
+ * <p>
+ * The shared caches are opt-in. Once {@link #setEnabled(boolean) enabled},
+ * {@link RGB#toLAB()} and {@link RGB#toLCH()} go through them; the {@link LabTable} still
+ * comes first for LAB when it is enabled.
+ *
+ * @author Elex
+ */
+public final class ConversionCache {
+	/**
+	 * Conversion a cache holds.
+	 */
+	public enum Target {
+		/**
+		 * {@link Conversions#rgbToLab(int, float[], int)}
+		 */
+		LAB,
+		/**
+		 * {@link Conversions#rgbToLch(int, float[], int)}
+		 */
+		LCH
+	}
+
+	/**
+	 * Capacity of the shared caches, in colors per target
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+	private static final int WAYS = 8;
+	private static final int MAX_STRIPES = 64;
+	/**
+	 * Marks an occupied slot, so black can be a key
+	 */
+	private static final int OCCUPIED = 1 << 24;
+
+	private static volatile ConversionCache lab, lch;
+
+	private final Target target;
+	private final int bucketBits;
+	private final int[] keys;
+	private final float[] values;
+	/**
+	 * CLOCK reference bits. Written without a lock; a lost update only makes a poorer pick.
+	 */
+	private final byte[] referenced;
+	private final byte[] hands;
+	private final StampedLock[] locks;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param target   conversion to cache
+	 * @param capacity number of colors [8..2<sup>24</sup>], rounded up to a power of two
+	 */
+	public ConversionCache(@NotNull Target target, int capacity) {
+		if (capacity < WAYS || capacity > 1 << 24) {
+			throw new IllegalArgumentException("capacity must be in [" + WAYS + ", " + (1 << 24) + "].");
+		}
+		final int slots = Integer.highestOneBit(capacity - 1) << 1;
+		final int buckets = slots / WAYS;
+		this.target = target;
+		this.bucketBits = Integer.numberOfTrailingZeros(buckets);
+		this.keys = new int[slots];
+		this.values = new float[slots * 3];
+		this.referenced = new byte[slots];
+		this.hands = new byte[buckets];
+		this.locks = new StampedLock[Math.min(buckets, MAX_STRIPES)];
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new StampedLock();
+		}
+	}
+
+	/**
+	 * Creates the shared caches with {@link #DEFAULT_CAPACITY}, or drops them.
+	 *
+	 * @param enabled true to cache {@link RGB#toLAB()} and {@link RGB#toLCH()}
+	 */
+	public static void setEnabled(boolean enabled) {
+		if (enabled) {
+			if (!isEnabled()) enable(DEFAULT_CAPACITY);
+		} else {
+			lab = null;
+			lch = null;
+		}
+	}
+
+	/**
+	 * Creates new, empty shared caches.
+	 *
+	 * @param capacity number of colors per target
+	 */
+	public static void enable(int capacity) {
+		final ConversionCache lab = new ConversionCache(Target.LAB, capacity);
+		final ConversionCache lch = new ConversionCache(Target.LCH, capacity);
+		ConversionCache.lab = lab;
+		ConversionCache.lch = lch;
+	}
+
+	public static boolean isEnabled() {
+		return lab != null;
+	}
+
+	/**
+	 * @return the shared cache of {@code target}, or null if disabled
+	 */
+	@Nullable
+	public static ConversionCache get(@NotNull Target target) {
+		return target == Target.LAB ? lab : lch;
+	}
+
+	public Target getTarget() {
+		return target;
+	}
+
+	/**
+	 * @return number of colors the cache holds at most
+	 */
+	public int getCapacity() {
+		return keys.length;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return hits per lookup [0..1], 0 before the first lookup
+	 */
+	public double getHitRate() {
+		final long hits = getHits(), total = hits + getMisses();
+		return total == 0 ? 0 : hits / (double) total;
+	}
+
+	/**
+	 * @return number of colors cached now
+	 */
+	public int size() {
+		int n = 0;
+		for (int i = 0; i < locks.length; i++) {
+			final long stamp = locks[i].readLock();
+			try {
+				for (int bucket = i; bucket < hands.length; bucket += locks.length) {
+					for (int slot = bucket * WAYS, end = slot + WAYS; slot < end; slot++) {
+						if (keys[slot] != 0) n++;
+					}
+				}
+			} finally {
+				locks[i].unlockRead(stamp);
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * Empties the cache and resets the counters.
+	 */
+	public void clear() {
+		for (StampedLock lock : locks) {
+			lock.writeLock();
+		}
+		try {
+			Arrays.fill(keys, 0);
+			Arrays.fill(referenced, (byte) 0);
+			Arrays.fill(hands, (byte) 0);
+		} finally {
+			for (StampedLock lock : locks) {
+				lock.tryUnlockWrite();
+			}
+		}
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	/**
+	 * Converts a color through the cache.
+	 *
+	 * @param color ARGB color
+	 * @param out   receives the three components of the target
+	 * @param off   first index to write
+	 */
+	public void lookup(int color, @NotNull float[] out, int off) {
+		final int key = (color & 0xFFFFFF) | OCCUPIED;
+		final int bucket = bucket(key);
+		if (probe(bucket, key, out, off) >= 0) return;
+
+		if (target == Target.LAB) {
+			Conversions.rgbToLab(color, out, off);
+		} else {
+			Conversions.rgbToLch(color, out, off);
+		}
+		insert(bucket, key, out[off], out[off + 1], out[off + 2]);
+	}
+
+	/**
+	 * {@link #lookup(int, float[], int)} for {@link RGB}.
+	 *
+	 * @param color ARGB color
+	 * @return {@link LAB} or {@link LCH} by the target
+	 */
+	@NotNull
+	Color lookup(int color) {
+		final int key = (color & 0xFFFFFF) | OCCUPIED;
+		final int bucket = bucket(key);
+		// Does not escape the inlined probe, so a hit allocates only its result
+		final float[] c = new float[3];
+		if (probe(bucket, key, c, 0) >= 0) {
+			return target == Target.LAB ? LAB.of(c[0], c[1], c[2]) : LCH.of(c[0], c[1], c[2]);
+		}
+
+		if (target == Target.LAB) {
+			final LAB lab = Conversions.rgbToLab(color);
+			insert(bucket, key, lab.getL(), lab.getA(), lab.getB());
+			return lab;
+		}
+		final LCH lch = Conversions.rgbToLch(color);
+		insert(bucket, key, lch.getL(), lch.getC(), lch.getH());
+		return lch;
+	}
+
+	/**
+	 * Converts {@code len} colors through the cache and writes their components
+	 * interleaved from {@code out[outOff]}.
+	 */
+	public void lookup(@NotNull int[] argbIn, int off, int len, @NotNull float[] out, int outOff) {
+		Utils.checkRange(argbIn.length, off, len);
+		Utils.checkRange(out.length, outOff, len * 3);
+		for (int i = off, o = outOff, end = off + len; i < end; i++, o += 3) {
+			lookup(argbIn[i], out, o);
+		}
+	}
+
+	/**
+	 * High bits of the hash of a key, none for a single bucket.
+	 */
+	private int bucket(int key) {
+		return Integer.rotateLeft(key * 0x9E3779B1, bucketBits) & (hands.length - 1);
+	}
+
+	/**
+	 * Finds a key in its bucket, optimistically and then under the read lock, and counts
+	 * the hit or the miss.
+	 *
+	 * @param out receives the three components of a hit
+	 * @return the slot of the hit, or -1
+	 */
+	private int probe(int bucket, int key, @NotNull float[] out, int off) {
+		final int base = bucket * WAYS;
+		final StampedLock lock = locks[bucket & (locks.length - 1)];
+
+		long stamp = lock.tryOptimisticRead();
+		int slot = find(base, key);
+		float c0 = 0, c1 = 0, c2 = 0;
+		if (slot >= 0) {
+			c0 = values[slot * 3];
+			c1 = values[slot * 3 + 1];
+			c2 = values[slot * 3 + 2];
+		}
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				slot = find(base, key);
+				if (slot >= 0) {
+					c0 = values[slot * 3];
+					c1 = values[slot * 3 + 1];
+					c2 = values[slot * 3 + 2];
+				}
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		if (slot < 0) {
+			misses.increment();
+			return -1;
+		}
+		referenced[slot] = 1;
+		hits.increment();
+		out[off] = c0;
+		out[off + 1] = c1;
+		out[off + 2] = c2;
+		return slot;
+	}
+
+	/**
+	 * Stores a missed color, unless another thread did already.
+	 */
+	private void insert(int bucket, int key, float c0, float c1, float c2) {
+		final StampedLock lock = locks[bucket & (locks.length - 1)];
+		final long stamp = lock.writeLock();
+		try {
+			if (find(bucket * WAYS, key) < 0) {
+				final int slot = victim(bucket);
+				keys[slot] = key;
+				values[slot * 3] = c0;
+				values[slot * 3 + 1] = c1;
+				values[slot * 3 + 2] = c2;
+				referenced[slot] = 0;
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	private int find(int base, int key) {
+		for (int slot = base, end = base + WAYS; slot < end; slot++) {
+			if (keys[slot] == key) return slot;
+		}
+		return -1;
+	}
+
+	/**
+	 * Empty slot of the bucket, or the CLOCK pick, under the write lock.
+	 */
+	private int victim(int bucket) {
+		final int base = bucket * WAYS;
+		final int empty = find(base, 0);
+		if (empty >= 0) return empty;
+		int hand = hands[bucket];
+		while (referenced[base + hand] != 0) {
+			referenced[base + hand] = 0;
+			hand = (hand + 1) & (WAYS - 1);
+		}
+		hands[bucket] = (byte) ((hand + 1) & (WAYS - 1));
+		evictions.increment();
+		return base + hand;
+	}
+}
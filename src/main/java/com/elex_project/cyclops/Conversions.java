@@ -0,0 +1,908 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+import static com.elex_project.cyclops.Utils.*;
+
+/**
+ * Allocation-free primitive conversions.
+ * <p>
+ * Conversions to RGB return a packed opaque ARGB {@code int}. All other conversions write
+ * their components into {@code out} starting at {@code off}, in the same order as the
+ * arguments of the matching {@code of(...)} factory. Nothing is allocated, and the methods
+ * are small and static, so the JIT can inline them into tight loops.
+ * <p>
+ * The {@link Color} classes and {@link ColorConverter} delegate to these methods, so their
+ * results are identical.
+ *
+ * @author Elex
+ */
+public final class Conversions {
+	private static final float GAMUT_TOLERANCE = 1e-4f;
+	/**
+	 * u' and v' of the D65 white, 2° observer, for CIE LUV
+	 */
+	private static final float REF_U = (4 * 95.047f) / (95.047f + (15 * 100.000f) + (3 * 108.883f));
+	private static final float REF_V = (9 * 100.000f) / (95.047f + (15 * 100.000f) + (3 * 108.883f));
+
+	private Conversions() {
+	}
+
+	/**
+	 * ARGB to CIE XYZ (D65, 2°). The alpha component is ignored.
+	 */
+	public static void rgbToXyz(int color, @NotNull float[] out, int off) {
+		float var_R = linearize(red(color));
+		float var_G = linearize(green(color));
+		float var_B = linearize(blue(color));
+
+		out[off] = toX(var_R, var_G, var_B);
+		out[off + 1] = toY(var_R, var_G, var_B);
+		out[off + 2] = toZ(var_R, var_G, var_B);
+	}
+
+	/**
+	 * Y component of {@link #rgbToXyz(int, float[], int)} [0..100].
+	 */
+	public static float rgbToY(int color) {
+		return toY(linearize(red(color)), linearize(green(color)), linearize(blue(color)));
+	}
+
+	/**
+	 * Linear light of an 8-bit sRGB component [0..100].
+	 */
+	static float linearize(int component) {
+		return SRGB.LINEAR[component] * 100;
+	}
+
+	/*
+	 * Rows of the linear sRGB to CIE XYZ matrix, Observer. = 2°, Illuminant = D65. Every
+	 * conversion from RGB runs through them, so all of them round alike.
+	 */
+
+	static float toX(float r, float g, float b) {
+		return (float) (r * 0.4124 + g * 0.3576 + b * 0.1805);
+	}
+
+	static float toY(float r, float g, float b) {
+		return (float) (r * 0.2126 + g * 0.7152 + b * 0.0722);
+	}
+
+	static float toZ(float r, float g, float b) {
+		return (float) (r * 0.0193 + g * 0.1192 + b * 0.9505);
+	}
+
+	/**
+	 * CIE XYZ (D65, 2°) to opaque RGB, encoded by the path selected with
+	 * {@link SRGB#setFastEncoding(boolean)}.
+	 */
+	public static int xyzToRgb(float x, float y, float z) {
+		float var_X = x / 100f;        //X from 0 to  95.047      (Observer = 2°, Illuminant = D65)
+		float var_Y = y / 100f;        //Y from 0 to 100.000
+		float var_Z = z / 100f;        //Z from 0 to 108.883
+
+		float var_R = var_X * 3.2406f + var_Y * -1.5372f + var_Z * -0.4986f;
+		float var_G = var_X * -0.9689f + var_Y * 1.8758f + var_Z * 0.0415f;
+		float var_B = var_X * 0.0557f + var_Y * -0.2040f + var_Z * 1.0570f;
+
+		return linearToRgb(var_R, var_G, var_B);
+	}
+
+	/**
+	 * Linear sRGB [0..1] to opaque RGB, encoded by the path selected with
+	 * {@link SRGB#setFastEncoding(boolean)}. Out of gamut values are clamped.
+	 */
+	private static int linearToRgb(float r, float g, float b) {
+		if (SRGB.isFastEncoding()) {
+			return rgb(SRGB.fromLinear8(r), SRGB.fromLinear8(g), SRGB.fromLinear8(b));
+		}
+		return rgb(SRGB.encode8(r), SRGB.encode8(g), SRGB.encode8(b));
+	}
+
+	/**
+	 * ARGB to hue [0..1), saturation [0..1], lightness [0..1].
+	 */
+	public static void rgbToHsl(int color, @NotNull float[] out, int off) {
+		float var_R = (red(color) / 255f);
+		float var_G = (green(color) / 255f);
+		float var_B = (blue(color) / 255f);
+
+		float var_Min = Math.min(Math.min(var_R, var_G), var_B);
+		float var_Max = Math.max(Math.max(var_R, var_G), var_B);
+		float del_Max = var_Max - var_Min;
+
+		float L = (var_Max + var_Min) / 2f;
+
+		float H = 0, S = 0;
+		if (del_Max != 0) {                         //Chromatic data...
+			if (L < 0.5) {
+				S = del_Max / (var_Max + var_Min);
+			} else {
+				S = del_Max / (2 - var_Max - var_Min);
+			}
+
+			H = hue(var_R, var_G, var_B, var_Max, del_Max);
+		}
+		out[off] = H;
+		out[off + 1] = S;
+		out[off + 2] = L;
+	}
+
+	/**
+	 * ARGB to hue [0..1), saturation [0..1], value [0..1].
+	 */
+	public static void rgbToHsv(int color, @NotNull float[] out, int off) {
+		float var_R = (red(color) / 255f);
+		float var_G = (green(color) / 255f);
+		float var_B = (blue(color) / 255f);
+
+		float var_Min = Math.min(Math.min(var_R, var_G), var_B);
+		float var_Max = Math.max(Math.max(var_R, var_G), var_B);
+		float del_Max = var_Max - var_Min;
+
+		float H = 0, S = 0;
+		if (del_Max != 0) {                         //Chromatic data...
+			S = del_Max / var_Max;
+
+			H = hue(var_R, var_G, var_B, var_Max, del_Max);
+		}
+		out[off] = H;
+		out[off + 1] = S;
+		out[off + 2] = var_Max;
+	}
+
+	/**
+	 * Hue [0..1) shared by HSL and HSV, of a chromatic color.
+	 *
+	 * @param max   greatest component [0..1]
+	 * @param delta greatest minus least component, not 0
+	 */
+	private static float hue(float r, float g, float b, float max, float delta) {
+		float del_R = (((max - r) / 6f) + (delta / 2f)) / delta;
+		float del_G = (((max - g) / 6f) + (delta / 2f)) / delta;
+		float del_B = (((max - b) / 6f) + (delta / 2f)) / delta;
+
+		float H = 0;
+		if (r == max) {
+			H = del_B - del_G;
+		} else if (g == max) {
+			H = (1 / 3f) + del_R - del_B;
+		} else if (b == max) {
+			H = (2 / 3f) + del_G - del_R;
+		}
+
+		if (H < 0) H += 1;
+		if (H > 1) H -= 1;
+		return H;
+	}
+
+	/**
+	 * ARGB to cyan, magenta, yellow [0..1].
+	 */
+	public static void rgbToCmy(int color, @NotNull float[] out, int off) {
+		out[off] = 1 - (red(color) / 255f);
+		out[off + 1] = 1 - (green(color) / 255f);
+		out[off + 2] = 1 - (blue(color) / 255f);
+	}
+
+	/**
+	 * CMY to cyan, magenta, yellow, black [0..1]. Writes 4 components.
+	 */
+	public static void cmyToCmyk(float C, float M, float Y, @NotNull float[] out, int off) {
+		float var_K = 1;
+
+		if (C < var_K) var_K = C;
+		if (M < var_K) var_K = M;
+		if (Y < var_K) var_K = Y;
+		if (var_K == 1) { //Black
+			C = 0;
+			M = 0;
+			Y = 0;
+		} else {
+			C = (C - var_K) / (1 - var_K);
+			M = (M - var_K) / (1 - var_K);
+			Y = (Y - var_K) / (1 - var_K);
+		}
+		out[off] = C;
+		out[off + 1] = M;
+		out[off + 2] = Y;
+		out[off + 3] = var_K;
+	}
+
+	/**
+	 * CMYK, all components [0..1], to cyan, magenta, yellow [0..1].
+	 */
+	public static void cmykToCmy(float C, float M, float Y, float K, @NotNull float[] out, int off) {
+		out[off] = (C * (1 - K) + K);
+		out[off + 1] = (M * (1 - K) + K);
+		out[off + 2] = (Y * (1 - K) + K);
+	}
+
+	/**
+	 * CMY, all components [0..1], to opaque RGB.
+	 */
+	public static int cmyToRgb(float C, float M, float Y) {
+		return rgb(Math.round((1 - C) * 255),
+				Math.round((1 - M) * 255),
+				Math.round((1 - Y) * 255));
+	}
+
+	/**
+	 * CMYK, all components [0..1], to opaque RGB, same as {@code CMYK -> CMY -> RGB}.
+	 */
+	public static int cmykToRgb(float C, float M, float Y, float K) {
+		return cmyToRgb((C * (1 - K) + K), (M * (1 - K) + K), (Y * (1 - K) + K));
+	}
+
+	/**
+	 * CIE f(t) of a white-relative component.
+	 */
+	private static float pivot(float t) {
+		if (t > 0.008856) {
+			return cbrt(t);
+		} else {
+			return 7.787f * t + 16 / 116f;
+		}
+	}
+
+	/**
+	 * {@link #pivot(float)} of X relative to the D65 white.
+	 */
+	static float pivotX(float x) {
+		return pivot(x / 95.047f);          //ref_X =  95.047   Observer= 2°, Illuminant= D65
+	}
+
+	/**
+	 * {@link #pivot(float)} of Y relative to the D65 white.
+	 */
+	static float pivotY(float y) {
+		return pivot(y / 100.000f);         //ref_Y = 100.000
+	}
+
+	/**
+	 * {@link #pivot(float)} of Z relative to the D65 white.
+	 */
+	static float pivotZ(float z) {
+		return pivot(z / 108.883f);         //ref_Z = 108.883
+	}
+
+	/**
+	 * Inverse of {@link #pivot(float)}.
+	 */
+	private static float inversePivot(float t) {
+		double t3 = (double) t * t * t;
+		if (t3 > 0.008856) {
+			return (float) t3;
+		} else {
+			return (t - 16 / 116f) / 7.787f;
+		}
+	}
+
+	/**
+	 * CIE XYZ to CIE LAB.
+	 */
+	public static void xyzToLab(float x, float y, float z, @NotNull float[] out, int off) {
+		float var_X = pivotX(x);
+		float var_Y = pivotY(y);
+		float var_Z = pivotZ(z);
+
+		out[off] = (116 * var_Y) - 16;
+		out[off + 1] = 500 * (var_X - var_Y);
+		out[off + 2] = 200 * (var_Y - var_Z);
+	}
+
+	/**
+	 * CIE LAB to CIE XYZ (D65, 2°).
+	 */
+	public static void labToXyz(float L, float a, float b, @NotNull float[] out, int off) {
+		float var_Y = (L + 16) / 116f;
+		float var_X = a / 500 + var_Y;
+		float var_Z = var_Y - b / 200f;
+
+		out[off] = 95.047f * inversePivot(var_X);     //Observer= 2°, Illuminant= D65
+		out[off + 1] = 100.000f * inversePivot(var_Y);
+		out[off + 2] = 108.883f * inversePivot(var_Z);
+	}
+
+	/**
+	 * CIE XYZ to CIE LUV.
+	 */
+	public static void xyzToLuv(float x, float y, float z, @NotNull float[] out, int off) {
+		float var_U = (4 * x) / (x + (15 * y) + (3 * z));
+		float var_V = (9 * y) / (x + (15 * y) + (3 * z));
+
+		float var_Y = pivotY(y);
+
+		float L = (116 * var_Y) - 16;
+		out[off] = L;
+		out[off + 1] = 13 * L * (var_U - REF_U);
+		out[off + 2] = 13 * L * (var_V - REF_V);
+	}
+
+	/**
+	 * CIE LUV to CIE XYZ (D65, 2°).
+	 */
+	public static void luvToXyz(float L, float u, float v, @NotNull float[] out, int off) {
+		float var_Y = inversePivot((L + 16) / 116f);
+
+		float var_U = u / (13 * L) + REF_U;
+		float var_V = v / (13 * L) + REF_V;
+
+		float Y = var_Y * 100;
+		float X = -(9 * Y * var_U) / ((var_U - 4) * var_V - var_U * var_V);
+		out[off] = X;
+		out[off + 1] = Y;
+		out[off + 2] = (9 * Y - (15 * var_V * Y) - (var_V * X)) / (3 * var_V);
+	}
+
+	/**
+	 * CIE XYZ to Hunter LAB.
+	 */
+	public static void xyzToHunterLab(float x, float y, float z, @NotNull float[] out, int off) {
+		out[off] = (float) (10 * Math.sqrt(y));
+		out[off + 1] = (float) (17.5 * (((1.02 * x) - y) / Math.sqrt(y)));
+		out[off + 2] = (float) (7 * ((y - (0.847 * z)) / Math.sqrt(y)));
+	}
+
+	/**
+	 * CIE XYZ to CIE Yxy.
+	 */
+	public static void xyzToYxy(float x, float y, float z, @NotNull float[] out, int off) {
+		out[off] = y;
+		out[off + 1] = x / (x + y + z);
+		out[off + 2] = y / (x + y + z);
+	}
+
+	/**
+	 * Hunter LAB to CIE XYZ.
+	 */
+	public static void hunterLabToXyz(float L, float a, float b, @NotNull float[] out, int off) {
+		float var_Y = L / 10f;
+		float var_X = a / 17.5f * L / 10f;
+		float var_Z = b / 7f * L / 10f;
+
+		float Y = (float) Math.pow(var_Y, 2);
+		out[off] = (var_X + Y) / 1.02f;
+		out[off + 1] = Y;
+		out[off + 2] = -(var_Z - Y) / 0.847f;
+	}
+
+	/**
+	 * CIE Yxy to CIE XYZ.
+	 */
+	public static void yxyToXyz(float Y, float x, float y, @NotNull float[] out, int off) {
+		out[off] = x * (Y / y);
+		out[off + 1] = Y;
+		out[off + 2] = (1 - x - y) * (Y / y);
+	}
+
+	/**
+	 * CIE LAB to CIE LCh°, hue in degrees [0..360).
+	 */
+	public static void labToLch(float L, float a, float b, @NotNull float[] out, int off) {
+		out[off] = L;
+		out[off + 1] = (float) Math.sqrt((double) a * a + (double) b * b);
+		out[off + 2] = hue(a, b);
+	}
+
+	/**
+	 * Hue of CIE LCh° in degrees [0..360).
+	 */
+	private static float hue(float a, float b) {
+		float var_H = (float) Math.atan2(b, a);  //Quadrant by signs
+
+		if (var_H > 0) {
+			var_H = (float) ((var_H / Math.PI) * 180);
+		} else {
+			var_H = (float) (360 - (Math.abs(var_H) / Math.PI) * 180);
+		}
+		return var_H;
+	}
+
+	/**
+	 * CIE LCh° to CIE LAB.
+	 */
+	public static void lchToLab(float L, float c, float h, @NotNull float[] out, int off) {
+		out[off] = L;
+		out[off + 1] = (float) ((Math.cos(Math.PI / 180f * h)) * c);
+		out[off + 2] = (float) ((Math.sin(Math.PI / 180f * h)) * c);
+	}
+
+	/**
+	 * HSV, all components [0..1], to opaque RGB.
+	 */
+	public static int hsvToRgb(float hue, float saturation, float value) {
+		int R, G, B;                     //RGB results from 0 to 255
+		if (saturation == 0) {                      //HSV from 0 to 1
+			R = Math.round(value * 255);
+			G = Math.round(value * 255);
+			B = Math.round(value * 255);
+		} else {
+			float var_h = hue * 6;
+			if (var_h == 6) var_h = 0;      //H must be < 1
+			int var_i = (int) (var_h);             //Or ... var_i = floor( var_h )
+			float var_1 = value * (1 - saturation);
+			float var_2 = value * (1 - saturation * (var_h - var_i));
+			float var_3 = value * (1 - saturation * (1 - (var_h - var_i)));
+
+			float var_r, var_g, var_b;
+			switch (var_i) {
+				case 0:
+					var_r = value;
+					var_g = var_3;
+					var_b = var_1;
+					break;
+				case 1:
+					var_r = var_2;
+					var_g = value;
+					var_b = var_1;
+					break;
+				case 2:
+					var_r = var_1;
+					var_g = value;
+					var_b = var_3;
+					break;
+				case 3:
+					var_r = var_1;
+					var_g = var_2;
+					var_b = value;
+					break;
+				case 4:
+					var_r = var_3;
+					var_g = var_1;
+					var_b = value;
+					break;
+				default:
+					var_r = value;
+					var_g = var_1;
+					var_b = var_2;
+			}
+
+			R = Math.round(var_r * 255);                  //RGB results from 0 to 255
+			G = Math.round(var_g * 255);
+			B = Math.round(var_b * 255);
+		}
+		return rgb(R, G, B);
+	}
+
+	private static float hueToRgb(float v1, float v2, float vH) {
+		if (vH < 0) vH += 1;
+		if (vH > 1) vH -= 1;
+		if ((6 * vH) < 1)
+			return (v1 + (v2 - v1) * 6 * vH);
+		if ((2 * vH) < 1)
+			return (v2);
+		if ((3 * vH) < 2)
+			return (v1 + (v2 - v1) * ((2 / 3f) - vH) * 6);
+		return (v1);
+	}
+
+	/**
+	 * HSL, all components [0..1], to opaque RGB.
+	 */
+	public static int hslToRgb(float hue, float saturation, float lightness) {
+		int R, G, B;                     //RGB results from 0 to 255
+		if (saturation == 0) {                       //HSL from 0 to 1
+			R = Math.round(lightness * 255);
+			G = Math.round(lightness * 255);
+			B = Math.round(lightness * 255);
+		} else {
+			float var_2;
+			if (lightness < 0.5) {
+				var_2 = lightness * (1 + saturation);
+			} else {
+				var_2 = (lightness + saturation) - (saturation * lightness);
+			}
+			float var_1 = 2 * lightness - var_2;
+
+			R = Math.round(255 * hueToRgb(var_1, var_2, hue + (1 / 3f)));
+			G = Math.round(255 * hueToRgb(var_1, var_2, hue));
+			B = Math.round(255 * hueToRgb(var_1, var_2, hue - (1 / 3f)));
+		}
+		return rgb(R, G, B);
+	}
+
+	/**
+	 * ARGB to OKLab: L [0..1], a and b about [-0.4..0.4]. The alpha component is ignored.
+	 */
+	public static void rgbToOklab(int color, @NotNull float[] out, int off) {
+		final float r = SRGB.LINEAR[red(color)];
+		final float g = SRGB.LINEAR[green(color)];
+		final float b = SRGB.LINEAR[blue(color)];
+
+		final float l = cbrt(0.4122214708f * r + 0.5363325363f * g + 0.0514459929f * b);
+		final float m = cbrt(0.2119034982f * r + 0.6806995451f * g + 0.1073969566f * b);
+		final float s = cbrt(0.0883024619f * r + 0.2817188376f * g + 0.6299787005f * b);
+
+		out[off] = 0.2104542553f * l + 0.7936177850f * m - 0.0040720468f * s;
+		out[off + 1] = 1.9779984951f * l - 2.4285922050f * m + 0.4505937099f * s;
+		out[off + 2] = 0.0259040371f * l + 0.7827717662f * m - 0.8086757660f * s;
+	}
+
+	/**
+	 * OKLab to opaque RGB, encoded by the path selected with
+	 * {@link SRGB#setFastEncoding(boolean)}.
+	 */
+	public static int oklabToRgb(float L, float a, float b) {
+		final float l = L + 0.3963377774f * a + 0.2158037573f * b;
+		final float m = L - 0.1055613458f * a - 0.0638541728f * b;
+		final float s = L - 0.0894841775f * a - 1.2914855480f * b;
+
+		final float l3 = l * l * l, m3 = m * m * m, s3 = s * s * s;
+		return linearToRgb(4.0767416621f * l3 - 3.3077115913f * m3 + 0.2309699292f * s3,
+				-1.2684380046f * l3 + 2.6097574011f * m3 - 0.3413193965f * s3,
+				-0.0041960863f * l3 - 0.7034186147f * m3 + 1.7076147010f * s3);
+	}
+
+	/*
+	 * Fused kernels. Each one runs the same arithmetic as the chain of object conversions
+	 * it replaces, keeping the intermediates in locals or in the output slot.
+	 */
+
+	/**
+	 * ARGB to CIE LAB, same as {@code RGB -> XYZ -> LAB}.
+	 */
+	public static void rgbToLab(int color, @NotNull float[] out, int off) {
+		rgbToXyz(color, out, off);
+		xyzToLab(out[off], out[off + 1], out[off + 2], out, off);
+	}
+
+	/**
+	 * ARGB to CIE LCh°, same as {@code RGB -> XYZ -> LAB -> LCH}.
+	 */
+	public static void rgbToLch(int color, @NotNull float[] out, int off) {
+		rgbToLab(color, out, off);
+		labToLch(out[off], out[off + 1], out[off + 2], out, off);
+	}
+
+	/**
+	 * ARGB to CIE LUV, same as {@code RGB -> XYZ -> LUV}.
+	 */
+	public static void rgbToLuv(int color, @NotNull float[] out, int off) {
+		rgbToXyz(color, out, off);
+		xyzToLuv(out[off], out[off + 1], out[off + 2], out, off);
+	}
+
+	/**
+	 * HSV to CIE LAB, same as {@code HSV -> RGB -> XYZ -> LAB}.
+	 */
+	public static void hsvToLab(float hue, float saturation, float value, @NotNull float[] out, int off) {
+		rgbToLab(hsvToRgb(hue, saturation, value), out, off);
+	}
+
+	/**
+	 * HSL to CIE LAB, same as {@code HSL -> RGB -> XYZ -> LAB}.
+	 */
+	public static void hslToLab(float hue, float saturation, float lightness, @NotNull float[] out, int off) {
+		rgbToLab(hslToRgb(hue, saturation, lightness), out, off);
+	}
+
+	/**
+	 * CIE LAB to opaque RGB, same as {@code LAB -> XYZ -> RGB}.
+	 */
+	public static int labToRgb(float L, float a, float b) {
+		float var_Y = (L + 16) / 116f;
+		float var_X = a / 500 + var_Y;
+		float var_Z = var_Y - b / 200f;
+
+		return xyzToRgb(95.047f * inversePivot(var_X),
+				100.000f * inversePivot(var_Y),
+				108.883f * inversePivot(var_Z));
+	}
+
+	/**
+	 * CIE LCh° to opaque RGB, same as {@code LCH -> LAB -> XYZ -> RGB}.
+	 */
+	public static int lchToRgb(float L, float c, float h) {
+		return labToRgb(L,
+				(float) ((Math.cos(Math.PI / 180f * h)) * c),
+				(float) ((Math.sin(Math.PI / 180f * h)) * c));
+	}
+
+	/**
+	 * CIE LUV to opaque RGB, same as {@code LUV -> XYZ -> RGB}.
+	 */
+	public static int luvToRgb(float L, float u, float v) {
+		float var_Y = inversePivot((L + 16) / 116f);
+
+		float var_U = u / (13 * L) + REF_U;
+		float var_V = v / (13 * L) + REF_V;
+
+		float Y = var_Y * 100;
+		float X = -(9 * Y * var_U) / ((var_U - 4) * var_V - var_U * var_V);
+		float Z = (9 * Y - (15 * var_V * Y) - (var_V * X)) / (3 * var_V);
+		return xyzToRgb(X, Y, Z);
+	}
+
+	/**
+	 * CIE LAB to HSV, same as {@code LAB -> XYZ -> RGB -> HSV}.
+	 */
+	public static void labToHsv(float L, float a, float b, @NotNull float[] out, int off) {
+		rgbToHsv(labToRgb(L, a, b), out, off);
+	}
+
+	/**
+	 * CIE LAB to HSL, same as {@code LAB -> XYZ -> RGB -> HSL}.
+	 */
+	public static void labToHsl(float L, float a, float b, @NotNull float[] out, int off) {
+		rgbToHsl(labToRgb(L, a, b), out, off);
+	}
+
+	/*
+	 * Object kernels for the Color classes. They run the same arithmetic as the array
+	 * kernels with the components in locals, so a conversion allocates only its result.
+	 */
+
+	/**
+	 * {@link #rgbToXyz(int, float[], int)} as an {@link XYZ}.
+	 */
+	static XYZ rgbToXyz(int color) {
+		float var_R = linearize(red(color));
+		float var_G = linearize(green(color));
+		float var_B = linearize(blue(color));
+
+		return XYZ.of(toX(var_R, var_G, var_B), toY(var_R, var_G, var_B), toZ(var_R, var_G, var_B));
+	}
+
+	/**
+	 * {@link #rgbToLab(int, float[], int)} as a {@link LAB}.
+	 */
+	static LAB rgbToLab(int color) {
+		float var_R = linearize(red(color));
+		float var_G = linearize(green(color));
+		float var_B = linearize(blue(color));
+
+		return xyzToLab(toX(var_R, var_G, var_B), toY(var_R, var_G, var_B), toZ(var_R, var_G, var_B));
+	}
+
+	/**
+	 * {@link #rgbToLch(int, float[], int)} as an {@link LCH}.
+	 */
+	static LCH rgbToLch(int color) {
+		float var_R = linearize(red(color));
+		float var_G = linearize(green(color));
+		float var_B = linearize(blue(color));
+
+		float var_X = pivotX(toX(var_R, var_G, var_B));
+		float var_Y = pivotY(toY(var_R, var_G, var_B));
+		float var_Z = pivotZ(toZ(var_R, var_G, var_B));
+
+		float a = 500 * (var_X - var_Y);
+		float b = 200 * (var_Y - var_Z);
+		return LCH.of((116 * var_Y) - 16, (float) Math.sqrt((double) a * a + (double) b * b), hue(a, b));
+	}
+
+	/**
+	 * {@link #rgbToLuv(int, float[], int)} as a {@link LUV}.
+	 */
+	static LUV rgbToLuv(int color) {
+		float var_R = linearize(red(color));
+		float var_G = linearize(green(color));
+		float var_B = linearize(blue(color));
+
+		return xyzToLuv(toX(var_R, var_G, var_B), toY(var_R, var_G, var_B), toZ(var_R, var_G, var_B));
+	}
+	/**
+	 * {@link #rgbToHsl(int, float[], int)} as an {@link HSL}.
+	 */
+	static HSL rgbToHsl(int color) {
+		float var_R = (red(color) / 255f);
+		float var_G = (green(color) / 255f);
+		float var_B = (blue(color) / 255f);
+
+		float var_Min = Math.min(Math.min(var_R, var_G), var_B);
+		float var_Max = Math.max(Math.max(var_R, var_G), var_B);
+		float del_Max = var_Max - var_Min;
+
+		float L = (var_Max + var_Min) / 2f;
+		if (del_Max == 0) return HSL.of(0, 0, L);
+		float S = L < 0.5 ? del_Max / (var_Max + var_Min) : del_Max / (2 - var_Max - var_Min);
+		return HSL.of(hue(var_R, var_G, var_B, var_Max, del_Max), S, L);
+	}
+
+	/**
+	 * {@link #rgbToHsv(int, float[], int)} as an {@link HSV}.
+	 */
+	static HSV rgbToHsv(int color) {
+		float var_R = (red(color) / 255f);
+		float var_G = (green(color) / 255f);
+		float var_B = (blue(color) / 255f);
+
+		float var_Min = Math.min(Math.min(var_R, var_G), var_B);
+		float var_Max = Math.max(Math.max(var_R, var_G), var_B);
+		float del_Max = var_Max - var_Min;
+
+		if (del_Max == 0) return HSV.of(0, 0, var_Max);
+		return HSV.of(hue(var_R, var_G, var_B, var_Max, del_Max), del_Max / var_Max, var_Max);
+	}
+
+	/**
+	 * {@link #rgbToCmy(int, float[], int)} as a {@link CMY}.
+	 */
+	static CMY rgbToCmy(int color) {
+		return CMY.of(1 - (red(color) / 255f), 1 - (green(color) / 255f), 1 - (blue(color) / 255f));
+	}
+
+	/**
+	 * {@link #cmyToCmyk(float, float, float, float[], int)} as a {@link CMYK}.
+	 */
+	static CMYK cmyToCmyk(float C, float M, float Y) {
+		float var_K = 1;
+
+		if (C < var_K) var_K = C;
+		if (M < var_K) var_K = M;
+		if (Y < var_K) var_K = Y;
+		if (var_K == 1) return CMYK.of(0, 0, 0, var_K); //Black
+		return CMYK.of((C - var_K) / (1 - var_K), (M - var_K) / (1 - var_K), (Y - var_K) / (1 - var_K), var_K);
+	}
+
+	/**
+	 * {@link #cmykToCmy(float, float, float, float, float[], int)} as a {@link CMY}.
+	 */
+	static CMY cmykToCmy(float C, float M, float Y, float K) {
+		return CMY.of((C * (1 - K) + K), (M * (1 - K) + K), (Y * (1 - K) + K));
+	}
+
+	/**
+	 * {@link #xyzToLab(float, float, float, float[], int)} as a {@link LAB}.
+	 */
+	static LAB xyzToLab(float x, float y, float z) {
+		float var_X = pivotX(x);
+		float var_Y = pivotY(y);
+		float var_Z = pivotZ(z);
+
+		return LAB.of((116 * var_Y) - 16, 500 * (var_X - var_Y), 200 * (var_Y - var_Z));
+	}
+
+	/**
+	 * {@link #labToXyz(float, float, float, float[], int)} as an {@link XYZ}.
+	 */
+	static XYZ labToXyz(float L, float a, float b) {
+		float var_Y = (L + 16) / 116f;
+		float var_X = a / 500 + var_Y;
+		float var_Z = var_Y - b / 200f;
+
+		return XYZ.of(95.047f * inversePivot(var_X), 100.000f * inversePivot(var_Y),
+				108.883f * inversePivot(var_Z));
+	}
+
+	/**
+	 * {@link #xyzToLuv(float, float, float, float[], int)} as a {@link LUV}.
+	 */
+	static LUV xyzToLuv(float x, float y, float z) {
+		float var_U = (4 * x) / (x + (15 * y) + (3 * z));
+		float var_V = (9 * y) / (x + (15 * y) + (3 * z));
+
+		float L = (116 * pivotY(y)) - 16;
+		return LUV.of(L, 13 * L * (var_U - REF_U), 13 * L * (var_V - REF_V));
+	}
+
+	/**
+	 * {@link #luvToXyz(float, float, float, float[], int)} as an {@link XYZ}.
+	 */
+	static XYZ luvToXyz(float L, float u, float v) {
+		float var_Y = inversePivot((L + 16) / 116f);
+
+		float var_U = u / (13 * L) + REF_U;
+		float var_V = v / (13 * L) + REF_V;
+
+		float Y = var_Y * 100;
+		float X = -(9 * Y * var_U) / ((var_U - 4) * var_V - var_U * var_V);
+		return XYZ.of(X, Y, (9 * Y - (15 * var_V * Y) - (var_V * X)) / (3 * var_V));
+	}
+
+	/**
+	 * {@link #xyzToHunterLab(float, float, float, float[], int)} as a {@link HunterLAB}.
+	 */
+	static HunterLAB xyzToHunterLab(float x, float y, float z) {
+		return HunterLAB.of((float) (10 * Math.sqrt(y)),
+				(float) (17.5 * (((1.02 * x) - y) / Math.sqrt(y))),
+				(float) (7 * ((y - (0.847 * z)) / Math.sqrt(y))));
+	}
+
+	/**
+	 * {@link #xyzToYxy(float, float, float, float[], int)} as a {@link YXY}.
+	 */
+	static YXY xyzToYxy(float x, float y, float z) {
+		return YXY.of(y, x / (x + y + z), y / (x + y + z));
+	}
+
+	/**
+	 * {@link #hunterLabToXyz(float, float, float, float[], int)} as an {@link XYZ}.
+	 */
+	static XYZ hunterLabToXyz(float L, float a, float b) {
+		float var_Y = L / 10f;
+		float var_X = a / 17.5f * L / 10f;
+		float var_Z = b / 7f * L / 10f;
+
+		float Y = (float) Math.pow(var_Y, 2);
+		return XYZ.of((var_X + Y) / 1.02f, Y, -(var_Z - Y) / 0.847f);
+	}
+
+	/**
+	 * {@link #yxyToXyz(float, float, float, float[], int)} as an {@link XYZ}.
+	 */
+	static XYZ yxyToXyz(float Y, float x, float y) {
+		return XYZ.of(x * (Y / y), Y, (1 - x - y) * (Y / y));
+	}
+
+	/**
+	 * {@link #labToLch(float, float, float, float[], int)} as an {@link LCH}.
+	 */
+	static LCH labToLch(float L, float a, float b) {
+		return LCH.of(L, (float) Math.sqrt((double) a * a + (double) b * b), hue(a, b));
+	}
+
+	/**
+	 * {@link #lchToLab(float, float, float, float[], int)} as a {@link LAB}.
+	 */
+	static LAB lchToLab(float L, float c, float h) {
+		return LAB.of(L, (float) ((Math.cos(Math.PI / 180f * h)) * c), (float) ((Math.sin(Math.PI / 180f * h)) * c));
+	}
+
+	/*
+	 * Gamut. Checks and fits of CIE LAB and LCh° colors against the sRGB gamut, for the
+	 * conversions that reduce chroma instead of clipping.
+	 */
+
+	/**
+	 * Whether a CIE LAB color lies inside the sRGB gamut, so {@link #labToRgb(float, float, float)}
+	 * does not clip it.
+	 */
+	static boolean isInGamut(float L, float a, float b) {
+		float var_Y = (L + 16) / 116f;
+		float var_X = a / 500 + var_Y;
+		float var_Z = var_Y - b / 200f;
+
+		float x = 0.95047f * inversePivot(var_X);
+		float y = inversePivot(var_Y);
+		float z = 1.08883f * inversePivot(var_Z);
+
+		return inGamut(x * 3.2406f + y * -1.5372f + z * -0.4986f)
+				&& inGamut(x * -0.9689f + y * 1.8758f + z * 0.0415f)
+				&& inGamut(x * 0.0557f + y * -0.2040f + z * 1.0570f);
+	}
+
+	private static boolean inGamut(float linear) {
+		// Tolerates the rounding of the matrix at black and white
+		return linear >= -GAMUT_TOLERANCE && linear <= 1 + GAMUT_TOLERANCE;
+	}
+
+	/**
+	 * Largest chroma up to {@code c} which keeps CIE LCh° inside the sRGB gamut.
+	 *
+	 * @param L lightness [0..100]
+	 * @param c wanted chroma
+	 * @param h hue in degrees
+	 */
+	static float maxChroma(float L, float c, float h) {
+		final float cos = (float) Math.cos(Math.PI / 180f * h);
+		final float sin = (float) Math.sin(Math.PI / 180f * h);
+		return c * gamutScale(L, cos * c, sin * c);
+	}
+
+	/**
+	 * Largest factor [0..1] for a and b which keeps CIE LAB inside the sRGB gamut, found by
+	 * bisection. The hue and lightness stay the same.
+	 */
+	static float gamutScale(float L, float a, float b) {
+		if (isInGamut(L, a, b)) return 1;
+		float lo = 0, hi = 1;
+		for (int i = 0; i < 16; i++) {
+			final float mid = (lo + hi) / 2;
+			if (isInGamut(L, a * mid, b * mid)) {
+				lo = mid;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+}
@@ -0,0 +1,293 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Color difference formulas on CIE LAB.
+ * <p>
+ * Every formula works on plain components, on {@link LAB} objects and on packed
+ * {@code L a b L a b ...} float buffers, such as the LAB output of {@link ColorConverter}.
+ * The bulk variants compare pairs, one reference against many colors, or every color of
+ * one buffer against every color of another.
+ * <p>
+ * CIE94 and CMC are not symmetric: the first color is the reference.
+ *
+ * @author Elex
+ */
+public enum DeltaE {
+	/**
+	 * Euclidean distance, ΔE*<sub>ab</sub> (1976)
+	 */
+	CIE76 {
+		@Override
+		public float difference(float L1, float a1, float b1, float L2, float a2, float b2) {
+			return cie76(L1, a1, b1, L2, a2, b2);
+		}
+	},
+	/**
+	 * ΔE*<sub>94</sub> with the graphic arts weights
+	 */
+	CIE94 {
+		@Override
+		public float difference(float L1, float a1, float b1, float L2, float a2, float b2) {
+			return cie94(L1, a1, b1, L2, a2, b2);
+		}
+	},
+	/**
+	 * ΔE<sub>00</sub> with {@code kL = kC = kH = 1}
+	 */
+	CIEDE2000 {
+		@Override
+		public float difference(float L1, float a1, float b1, float L2, float a2, float b2) {
+			return ciede2000(L1, a1, b1, L2, a2, b2);
+		}
+	},
+	/**
+	 * CMC l:c with 2:1, for acceptability
+	 */
+	CMC_2_1 {
+		@Override
+		public float difference(float L1, float a1, float b1, float L2, float a2, float b2) {
+			return cmc(L1, a1, b1, L2, a2, b2, 2, 1);
+		}
+	},
+	/**
+	 * CMC l:c with 1:1, for perceptibility
+	 */
+	CMC_1_1 {
+		@Override
+		public float difference(float L1, float a1, float b1, float L2, float a2, float b2) {
+			return cmc(L1, a1, b1, L2, a2, b2, 1, 1);
+		}
+	};
+
+	private static final double POW25_7 = 6103515625.0; // 25^7
+	/**
+	 * Angle conversions as fixed products. {@link Math#toDegrees(double)} and
+	 * {@link Math#toRadians(double)} round differently across JDK releases, which moves hues
+	 * that sit exactly 180° apart to either side of the ΔE<sub>00</sub> hue decisions.
+	 */
+	private static final double DEGREES = 180 / Math.PI, RADIANS = Math.PI / 180;
+	private static final double COS_30 = Math.cos(30 * RADIANS), SIN_30 = 0.5;
+	private static final double COS_6 = Math.cos(6 * RADIANS), SIN_6 = Math.sin(6 * RADIANS);
+	private static final double COS_63 = Math.cos(63 * RADIANS), SIN_63 = Math.sin(63 * RADIANS);
+
+	/**
+	 * Difference between two LAB colors.
+	 */
+	public abstract float difference(float L1, float a1, float b1, float L2, float a2, float b2);
+
+	/**
+	 * Difference between two LAB colors.
+	 *
+	 * @param lab1 reference
+	 * @param lab2 sample
+	 * @return ΔE
+	 */
+	public float difference(@NotNull LAB lab1, @NotNull LAB lab2) {
+		return difference(lab1.getL(), lab1.getA(), lab1.getB(), lab2.getL(), lab2.getA(), lab2.getB());
+	}
+
+	/**
+	 * Compares {@code len} pairs of packed LAB colors.
+	 *
+	 * @param labs1  reference colors, {@code L a b} interleaved
+	 * @param off1   first index of the reference colors
+	 * @param labs2  sample colors, {@code L a b} interleaved
+	 * @param off2   first index of the sample colors
+	 * @param len    number of pairs
+	 * @param out    receives one difference per pair
+	 * @param outOff first index to write
+	 */
+	public void differences(@NotNull float[] labs1, int off1, @NotNull float[] labs2, int off2, int len,
+	                        @NotNull float[] out, int outOff) {
+		Utils.checkRange(labs1.length, off1, len * 3);
+		Utils.checkRange(labs2.length, off2, len * 3);
+		Utils.checkRange(out.length, outOff, len);
+		for (int i = 0; i < len; i++, off1 += 3, off2 += 3) {
+			out[outOff + i] = difference(labs1[off1], labs1[off1 + 1], labs1[off1 + 2],
+					labs2[off2], labs2[off2 + 1], labs2[off2 + 2]);
+		}
+	}
+
+	/**
+	 * Compares one reference color against {@code len} packed LAB colors.
+	 *
+	 * @param reference reference color
+	 * @param labs      sample colors, {@code L a b} interleaved
+	 * @param off       first index of the sample colors
+	 * @param len       number of sample colors
+	 * @param out       receives one difference per sample
+	 * @param outOff    first index to write
+	 */
+	public void differences(@NotNull LAB reference, @NotNull float[] labs, int off, int len,
+	                        @NotNull float[] out, int outOff) {
+		Utils.checkRange(labs.length, off, len * 3);
+		Utils.checkRange(out.length, outOff, len);
+		final float L = reference.getL(), a = reference.getA(), b = reference.getB();
+		for (int i = 0; i < len; i++, off += 3) {
+			out[outOff + i] = difference(L, a, b, labs[off], labs[off + 1], labs[off + 2]);
+		}
+	}
+
+	/**
+	 * Computes the {@code rows × cols} matrix of differences between two sets of packed
+	 * LAB colors. {@code out[outOff + i * cols + j]} is the difference between reference
+	 * {@code i} and sample {@code j}.
+	 *
+	 * @param labs1  reference colors, {@code L a b} interleaved
+	 * @param off1   first index of the reference colors
+	 * @param rows   number of reference colors
+	 * @param labs2  sample colors, {@code L a b} interleaved
+	 * @param off2   first index of the sample colors
+	 * @param cols   number of sample colors
+	 * @param out    receives {@code rows * cols} differences, row-major
+	 * @param outOff first index to write
+	 */
+	public void matrix(@NotNull float[] labs1, int off1, int rows, @NotNull float[] labs2, int off2, int cols,
+	                   @NotNull float[] out, int outOff) {
+		Utils.checkRange(labs1.length, off1, rows * 3);
+		Utils.checkRange(labs2.length, off2, cols * 3);
+		Utils.checkRange(out.length, outOff, rows * cols);
+		for (int i = 0; i < rows; i++, off1 += 3) {
+			final float L = labs1[off1], a = labs1[off1 + 1], b = labs1[off1 + 2];
+			for (int j = 0, o = off2; j < cols; j++, o += 3) {
+				out[outOff++] = difference(L, a, b, labs2[o], labs2[o + 1], labs2[o + 2]);
+			}
+		}
+	}
+
+	/**
+	 * ΔE*<sub>ab</sub>, the euclidean distance.
+	 */
+	public static float cie76(float L1, float a1, float b1, float L2, float a2, float b2) {
+		final float dL = L1 - L2, da = a1 - a2, db = b1 - b2;
+		return (float) Math.sqrt(dL * dL + da * da + db * db);
+	}
+
+	/**
+	 * ΔE*<sub>94</sub> with the graphic arts weights {@code kL = 1, K1 = 0.045, K2 = 0.015}.
+	 */
+	public static float cie94(float L1, float a1, float b1, float L2, float a2, float b2) {
+		final double C1 = Math.sqrt((double) a1 * a1 + (double) b1 * b1);
+		final double C2 = Math.sqrt((double) a2 * a2 + (double) b2 * b2);
+		final double dL = (double) L1 - L2, dC = C1 - C2, da = (double) a1 - a2, db = (double) b1 - b2;
+		final double dH2 = Math.max(0, da * da + db * db - dC * dC);
+		final double sC = 1 + 0.045 * C1, sH = 1 + 0.015 * C1;
+		return (float) Math.sqrt(dL * dL + dC * dC / (sC * sC) + dH2 / (sH * sH));
+	}
+
+	/**
+	 * CMC l:c (1984).
+	 *
+	 * @param l lightness weight, 2 for acceptability, 1 for perceptibility
+	 * @param c chroma weight, usually 1
+	 */
+	public static float cmc(float L1, float a1, float b1, float L2, float a2, float b2, float l, float c) {
+		final double C1 = Math.sqrt((double) a1 * a1 + (double) b1 * b1);
+		final double C2 = Math.sqrt((double) a2 * a2 + (double) b2 * b2);
+		final double dL = (double) L1 - L2, dC = C1 - C2, da = (double) a1 - a2, db = (double) b1 - b2;
+		final double dH2 = Math.max(0, da * da + db * db - dC * dC);
+
+		double H1 = Math.atan2(b1, a1) * DEGREES;
+		if (H1 < 0) H1 += 360;
+		final double C1_4 = C1 * C1 * C1 * C1;
+		final double F = Math.sqrt(C1_4 / (C1_4 + 1900));
+		final double T = (H1 >= 164 && H1 <= 345)
+				? 0.56 + Math.abs(0.2 * Math.cos((H1 + 168) * RADIANS))
+				: 0.36 + Math.abs(0.4 * Math.cos((H1 + 35) * RADIANS));
+		final double sL = L1 < 16 ? 0.511 : 0.040975 * L1 / (1 + 0.01765 * L1);
+		final double sC = 0.0638 * C1 / (1 + 0.0131 * C1) + 0.638;
+		final double sH = sC * (F * T + 1 - F);
+
+		final double tL = dL / (l * sL), tC = dC / (c * sC);
+		return (float) Math.sqrt(tL * tL + tC * tC + dH2 / (sH * sH));
+	}
+
+	/**
+	 * ΔE<sub>00</sub> with {@code kL = kC = kH = 1}.
+	 * <p>
+	 * The weighting function T is expanded with multiple-angle identities, so only the
+	 * sine and cosine of the mean hue are evaluated.
+	 */
+	public static float ciede2000(float L1, float a1, float b1, float L2, float a2, float b2) {
+		final double C1 = Math.sqrt((double) a1 * a1 + (double) b1 * b1);
+		final double C2 = Math.sqrt((double) a2 * a2 + (double) b2 * b2);
+		final double Cm = (C1 + C2) / 2;
+		final double Cm7 = pow7(Cm);
+		final double G = 0.5 * (1 - Math.sqrt(Cm7 / (Cm7 + POW25_7)));
+
+		final double a1p = (1 + G) * a1, a2p = (1 + G) * a2;
+		final double C1p = Math.sqrt(a1p * a1p + b1 * b1);
+		final double C2p = Math.sqrt(a2p * a2p + b2 * b2);
+		final double h1p = hueDegrees(b1, a1p);
+		final double h2p = hueDegrees(b2, a2p);
+
+		final double dLp = L2 - L1;
+		final double dCp = C2p - C1p;
+		final double C12 = C1p * C2p;
+		double dhp = 0;
+		double hmp = h1p + h2p;
+		if (C12 != 0) {
+			dhp = h2p - h1p;
+			if (dhp > 180) {
+				dhp -= 360;
+			} else if (dhp < -180) {
+				dhp += 360;
+			}
+			if (Math.abs(h1p - h2p) > 180) {
+				hmp += hmp < 360 ? 360 : -360;
+			}
+			hmp /= 2;
+		}
+		final double dHp = 2 * Math.sqrt(C12) * Math.sin(dhp / 2 * RADIANS);
+
+		final double Lmp = (L1 + L2) / 2.0;
+		final double Cmp = (C1p + C2p) / 2;
+
+		final double h = hmp * RADIANS;
+		final double cos1 = Math.cos(h), sin1 = Math.sin(h);
+		final double cos2 = 2 * cos1 * cos1 - 1, sin2 = 2 * sin1 * cos1;
+		final double cos3 = cos1 * (4 * cos1 * cos1 - 3), sin3 = sin1 * (3 - 4 * sin1 * sin1);
+		final double cos4 = 2 * cos2 * cos2 - 1, sin4 = 2 * sin2 * cos2;
+		final double T = 1
+				- 0.17 * (cos1 * COS_30 + sin1 * SIN_30)
+				+ 0.24 * cos2
+				+ 0.32 * (cos3 * COS_6 - sin3 * SIN_6)
+				- 0.20 * (cos4 * COS_63 + sin4 * SIN_63);
+
+		final double x = (hmp - 275) / 25;
+		final double dTheta = 30 * Math.exp(-x * x);
+		final double Cmp7 = pow7(Cmp);
+		final double RC = 2 * Math.sqrt(Cmp7 / (Cmp7 + POW25_7));
+		final double Lm50 = (Lmp - 50) * (Lmp - 50);
+		final double SL = 1 + 0.015 * Lm50 / Math.sqrt(20 + Lm50);
+		final double SC = 1 + 0.045 * Cmp;
+		final double SH = 1 + 0.015 * Cmp * T;
+		final double RT = -Math.sin(2 * dTheta * RADIANS) * RC;
+
+		final double tL = dLp / SL, tC = dCp / SC, tH = dHp / SH;
+		return (float) Math.sqrt(tL * tL + tC * tC + tH * tH + RT * tC * tH);
+	}
+
+	private static double pow7(double x) {
+		final double x2 = x * x;
+		return x2 * x2 * x2 * x;
+	}
+
+	/**
+	 * @return hue angle [0...360), 0 for the neutral axis
+	 */
+	private static double hueDegrees(double b, double a) {
+		if (a == 0 && b == 0) return 0;
+		final double h = Math.atan2(b, a) * DEGREES;
+		return h < 0 ? h + 360 : h;
+	}
+}
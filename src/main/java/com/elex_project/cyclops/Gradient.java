@@ -0,0 +1,326 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Color gradient through color stops, interpolated in a chosen color space, and rendered
+ * to packed ARGB lookup tables.
+ * <p>
+ * The stops are converted once, when the gradient is created, and the interpolation of
+ * every segment is prepared then as well, so rendering a table is one pass of
+ * multiply-adds and one conversion back to RGB per entry. Hues take the shorter way around
+ * the wheel, and the hue of a grey stop, which has none, is taken from its neighbour.
+ * Alpha is interpolated linearly. A {@link Sampler} maps scalar values to the colors of a
+ * table in constant time, e.g. for heatmaps.
+ *
+ * @author Elex
+ */
+public final class Gradient {
+	/**
+	 * Color space the stops are interpolated in.
+	 */
+	public enum Space {
+		/**
+		 * gamma-encoded sRGB components, like {@link Utils#blendARGB(int, int, float)}
+		 */
+		RGB,
+		/**
+		 * CIE LAB
+		 */
+		LAB,
+		/**
+		 * CIE LCh°, chroma is reduced where the blend leaves the sRGB gamut
+		 */
+		LCH,
+		/**
+		 * hue, saturation, lightness
+		 */
+		HSL,
+		/**
+		 * OKLab, perceptually even without the hue shifts of LAB
+		 */
+		OKLAB
+	}
+
+	/**
+	 * Chroma or saturation below which a stop counts as grey
+	 */
+	private static final float GREY = 1e-4f;
+
+	private final Space space;
+	private final float[] positions;
+	/**
+	 * Three components at the start of every segment, then their change over the segment
+	 */
+	private final float[] start, delta;
+	private final int[] alphas;
+
+	private Gradient(Space space, float[] positions, int[] colors) {
+		this.space = space;
+		this.positions = positions;
+		final int n = colors.length;
+		final float[] stops = new float[n * 3];
+		this.alphas = new int[n];
+		for (int i = 0; i < n; i++) {
+			toSpace(colors[i], stops, i * 3);
+			alphas[i] = Utils.alpha(colors[i]);
+		}
+		this.start = new float[Math.max(n - 1, 1) * 3];
+		this.delta = new float[start.length];
+		System.arraycopy(stops, 0, start, 0, 3);
+		for (int s = 0; s < n - 1; s++) {
+			for (int k = 0; k < 3; k++) {
+				start[s * 3 + k] = stops[s * 3 + k];
+				delta[s * 3 + k] = stops[s * 3 + 3 + k] - stops[s * 3 + k];
+			}
+			if (space == Space.LCH) {
+				prepareHue(s, 1, 2, 360);
+			} else if (space == Space.HSL) {
+				prepareHue(s, 1, 0, 1);
+			}
+		}
+	}
+
+	/**
+	 * Evenly spaced stops.
+	 *
+	 * @param space  color space to interpolate in
+	 * @param colors ARGB colors, at least one
+	 */
+	public static Gradient of(@NotNull Space space, @NotNull int... colors) {
+		final float[] positions = new float[colors.length];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = positions.length == 1 ? 0 : i / (positions.length - 1f);
+		}
+		return of(space, positions, colors);
+	}
+
+	/**
+	 * @param space     color space to interpolate in
+	 * @param positions position of each stop [0..1], in ascending order; two equal
+	 *                  positions make a hard edge
+	 * @param colors    ARGB color of each stop, at least one
+	 */
+	public static Gradient of(@NotNull Space space, @NotNull float[] positions, @NotNull int[] colors) {
+		if (colors.length < 1 || positions.length != colors.length) {
+			throw new IllegalArgumentException("One position per color, at least one color.");
+		}
+		for (int i = 0; i < positions.length; i++) {
+			if (!(positions[i] >= 0 && positions[i] <= 1) || (i > 0 && positions[i] < positions[i - 1])) {
+				throw new IllegalArgumentException("Positions must ascend in [0, 1].");
+			}
+		}
+		return new Gradient(space, positions.clone(), colors.clone());
+	}
+
+	public Space getSpace() {
+		return space;
+	}
+
+	/**
+	 * @param t position [0..1], clamped
+	 * @return ARGB color at the position
+	 */
+	public int getColor(float t) {
+		int s = 0;
+		while (s < positions.length - 2 && t > positions[s + 1]) {
+			s++;
+		}
+		return colorAt(s, t);
+	}
+
+	/**
+	 * @param size number of entries, at least one
+	 * @return lookup table from the first stop to the last
+	 */
+	public int[] toArray(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("size must be positive.");
+		}
+		final int[] out = new int[size];
+		fill(out, 0, size);
+		return out;
+	}
+
+	/**
+	 * Renders the gradient into {@code len} entries, the first holds the color at 0 and
+	 * the last the color at 1.
+	 *
+	 * @param out ARGB lookup table
+	 * @param off first entry
+	 * @param len number of entries
+	 */
+	public void fill(@NotNull int[] out, int off, int len) {
+		Utils.checkRange(out.length, off, len);
+		final float step = len > 1 ? 1f / (len - 1) : 0;
+		for (int i = 0, s = 0; i < len; i++) {
+			final float t = i * step;
+			while (s < positions.length - 2 && t > positions[s + 1]) {
+				s++;
+			}
+			out[off + i] = colorAt(s, t);
+		}
+	}
+
+	/**
+	 * @param size number of colors of the table, at least two
+	 * @param min  value mapped to the first stop
+	 * @param max  value mapped to the last stop, greater than {@code min}
+	 * @return sampler over a table of {@code size} colors
+	 */
+	public Sampler sampler(int size, float min, float max) {
+		if (size < 2) {
+			throw new IllegalArgumentException("size must be at least 2.");
+		}
+		if (!(max > min)) {
+			throw new IllegalArgumentException("max must be greater than min.");
+		}
+		return new Sampler(toArray(size), min, max);
+	}
+
+	/**
+	 * Maps scalar values to the colors of a gradient table in constant time, by rounding
+	 * to the nearest entry. Values out of range take the color of the nearest end, NaN the
+	 * color of the first.
+	 */
+	public static final class Sampler {
+		private final int[] colors;
+		private final float min, scale;
+
+		private Sampler(int[] colors, float min, float max) {
+			this.colors = colors;
+			this.min = min;
+			this.scale = (colors.length - 1) / (max - min);
+		}
+
+		/**
+		 * @return number of colors of the table
+		 */
+		public int size() {
+			return colors.length;
+		}
+
+		/**
+		 * @return ARGB color of the value
+		 */
+		public int sample(float value) {
+			final int i = (int) ((value - min) * scale + 0.5f);
+			return colors[i < 0 ? 0 : Math.min(i, colors.length - 1)];
+		}
+
+		/**
+		 * Maps {@code len} values, e.g. one row of a heatmap.
+		 *
+		 * @param values scalar values
+		 * @param off    first value
+		 * @param len    number of values
+		 * @param out    receives one ARGB color per value
+		 * @param outOff first index to write
+		 */
+		public void sample(@NotNull float[] values, int off, int len, @NotNull int[] out, int outOff) {
+			Utils.checkRange(values.length, off, len);
+			Utils.checkRange(out.length, outOff, len);
+			final int[] colors = this.colors;
+			final int last = colors.length - 1;
+			final float min = this.min, scale = this.scale;
+			for (int i = 0; i < len; i++) {
+				final int j = (int) ((values[off + i] - min) * scale + 0.5f);
+				out[outOff + i] = colors[j < 0 ? 0 : Math.min(j, last)];
+			}
+		}
+
+		/**
+		 * @return the ARGB table
+		 */
+		public int[] getColors() {
+			return colors.clone();
+		}
+	}
+
+	/**
+	 * Color at {@code t} on segment {@code s}.
+	 */
+	private int colorAt(int s, float t) {
+		float f = 0;
+		if (positions.length > 1) {
+			final float p0 = positions[s], p1 = positions[s + 1];
+			f = t <= p0 ? 0 : t >= p1 ? 1 : (t - p0) / (p1 - p0);
+		}
+		final int k = s * 3;
+		final float c0 = start[k] + delta[k] * f;
+		final float c1 = start[k + 1] + delta[k + 1] * f;
+		final float c2 = start[k + 2] + delta[k + 2] * f;
+		final int alpha = alphas.length > 1
+				? Math.round(alphas[s] + (alphas[s + 1] - alphas[s]) * f)
+				: alphas[0];
+		return Utils.setAlphaComponent(fromSpace(c0, c1, c2), alpha);
+	}
+
+	/**
+	 * Takes the hue of segment {@code s} the shorter way, or from the other end when one
+	 * end is grey.
+	 *
+	 * @param chroma index of the chroma or saturation component
+	 * @param hue    index of the hue component
+	 * @param turn   hue of a full turn
+	 */
+	private void prepareHue(int s, int chroma, int hue, float turn) {
+		final int k = s * 3;
+		final boolean grey0 = start[k + chroma] < GREY;
+		final boolean grey1 = start[k + chroma] + delta[k + chroma] < GREY;
+		float d = delta[k + hue];
+		if (grey0 && !grey1) {
+			start[k + hue] += d;
+			d = 0;
+		} else if (grey1) {
+			d = 0;
+		}
+		d -= turn * Math.round(d / turn);
+		delta[k + hue] = d;
+	}
+
+	private void toSpace(int color, float[] out, int off) {
+		switch (space) {
+			case RGB:
+				out[off] = Utils.red(color);
+				out[off + 1] = Utils.green(color);
+				out[off + 2] = Utils.blue(color);
+				break;
+			case LAB:
+				Conversions.rgbToLab(color, out, off);
+				break;
+			case LCH:
+				Conversions.rgbToLch(color, out, off);
+				break;
+			case HSL:
+				Conversions.rgbToHsl(color, out, off);
+				break;
+			default:
+				Conversions.rgbToOklab(color, out, off);
+		}
+	}
+
+	private int fromSpace(float c0, float c1, float c2) {
+		switch (space) {
+			case RGB:
+				return Utils.rgb(Math.round(c0), Math.round(c1), Math.round(c2));
+			case LAB:
+				return Conversions.labToRgb(c0, c1, c2);
+			case LCH: {
+				final float h = c2 < 0 ? c2 + 360 : c2 >= 360 ? c2 - 360 : c2;
+				return Conversions.lchToRgb(c0, Conversions.maxChroma(c0, c1, h), h);
+			}
+			case HSL:
+				return Conversions.hslToRgb(c0 < 0 ? c0 + 1 : c0 >= 1 ? c0 - 1 : c0, c1, c2);
+			default:
+				return Conversions.oklabToRgb(c0, c1, c2);
+		}
+	}
+}
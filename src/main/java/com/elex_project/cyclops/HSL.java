@@ -14,25 +14,13 @@ import lombok.*;
 @EqualsAndHashCode
 @ToString
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class HSL implements Color {
+public final class HSL implements Color {
 	private float hue, saturation, lightness;
 
 	public static HSL of(float hue, float saturation, float lightness) {
 		return new HSL(hue, saturation, lightness);
 	}
 
-	private static float hueToRgb(float v1, float v2, float vH) {
-		if (vH < 0) vH += 1;
-		if (vH > 1) vH -= 1;
-		if ((6 * vH) < 1)
-			return (v1 + (v2 - v1) * 6 * vH);
-		if ((2 * vH) < 1)
-			return (v2);
-		if ((3 * vH) < 2)
-			return (v1 + (v2 - v1) * ((2 / 3f) - vH) * 6);
-		return (v1);
-	}
-
 	/**
 	 * Blend between {@code this} and {@code color} using the given ratio. This will interpolate
 	 * the hue using the shortest angle.
@@ -67,7 +55,7 @@ public class HSL implements Color {
 
 	@Override
 	public LAB toLAB() {
-		return toRGB().toLAB();
+		return Conversions.rgbToLab(Conversions.hslToRgb(hue, saturation, lightness));
 	}
 
 	/**
@@ -83,28 +71,7 @@ public class HSL implements Color {
 	 */
 	@Override
 	public RGB toRGB() {
-		int R = 0;                      //RGB results from 0 to 255
-		int G = 0;
-		int B = 0;
-		if (saturation == 0) {                       //HSL from 0 to 1
-			R = Math.round(lightness * 255);                      //RGB results from 0 to 255
-			G = Math.round(lightness * 255);
-			B = Math.round(lightness * 255);
-		} else {
-			float var_2;
-			if (lightness < 0.5) {
-				var_2 = lightness * (1 + saturation);
-			} else {
-				var_2 = (lightness + saturation) - (saturation * lightness);
-			}
-			float var_1 = 2 * lightness - var_2;
-
-			R = Math.round(255 * hueToRgb(var_1, var_2, hue + (1 / 3f)));
-			G = Math.round(255 * hueToRgb(var_1, var_2, hue));
-			B = Math.round(255 * hueToRgb(var_1, var_2, hue - (1 / 3f)));
-		}
-
-		return RGB.of(R, G, B);
+		return RGB.of(Conversions.hslToRgb(hue, saturation, lightness));
 	}
 
 	@Override
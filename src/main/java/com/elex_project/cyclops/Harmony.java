@@ -7,43 +7,159 @@
 
 package com.elex_project.cyclops;
 
-public class Harmony {
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Color harmonies on the CIE LCh° color wheel.
+ * <p>
+ * Hues are rotated in the a/b plane of CIE LAB by the sines and cosines of each
+ * {@link Scheme}, worked out once, so a seed costs one conversion to LAB and one back per
+ * color. A rotated color which leaves the sRGB gamut keeps its hue and lightness and loses
+ * chroma until it fits. The results are opaque.
+ * <p>
+ * {@link #harmonies(Scheme, int[], int, int, int[], int)} generates the colors of many
+ * seeds into one buffer, converting the seeds to LAB in bulk.
+ *
+ * @author Elex
+ */
+public final class Harmony {
+	/**
+	 * Number of seeds converted to LAB at a time
+	 */
+	private static final int CHUNK = 256;
+	/**
+	 * Lightness the monochromatic ladder reaches towards white and black
+	 */
+	private static final float LIGHTEST = 95, DARKEST = 10;
+
+	/**
+	 * Harmony schemes, with the colors each one gives besides the seed.
+	 */
+	public enum Scheme {
+		/**
+		 * the color opposite on the wheel
+		 */
+		COMPLEMENT(180),
+		/**
+		 * the two colors which make three equally spaced ones with the seed
+		 */
+		TRIADIC(120, -120),
+		/**
+		 * the two colors on either side of the complement
+		 */
+		SPLIT_COMPLEMENT(150, -150),
+		/**
+		 * the two neighbours on the wheel, of the same color temperature
+		 */
+		ANALOGOUS(30, -30),
+		/**
+		 * tonal ladder of the same hue: two lighter and two darker colors, lightest first;
+		 * the chroma drops where the gamut gets narrow towards white and black
+		 */
+		MONOCHROMATIC(0, 0, 0, 0);
+
+		private final float[] cos, sin;
+
+		Scheme(int... degrees) {
+			cos = new float[degrees.length];
+			sin = new float[degrees.length];
+			for (int i = 0; i < degrees.length; i++) {
+				cos[i] = (float) Math.cos(Math.toRadians(degrees[i]));
+				sin[i] = (float) Math.sin(Math.toRadians(degrees[i]));
+			}
+		}
+
+		/**
+		 * @return number of colors per seed
+		 */
+		public int size() {
+			return cos.length;
+		}
+	}
+
+	private Harmony() {
+	}
+
 	//This is the typical configuration of three colors that are equally spaced from each other on the color wheel.
 	public static int[] triadics(int color) {
-		return harmonies(color, 120);
+		return harmonies(Scheme.TRIADIC, color);
 	}
 
 	//This color scheme combines the two colors on either side of a color’s complement.
 	public static int[] splitComplements(int color) {
-		return harmonies(color, 150);
+		return harmonies(Scheme.SPLIT_COMPLEMENT, color);
 	}
 
 	//Uses the colors of the same color temperature near each other on the wheel.
 	public static int[] analogouses(int color) {
-		return harmonies(color, 30);
+		return harmonies(Scheme.ANALOGOUS, color);
 	}
 
 	//Colors from the same family on the wheel. This will include lighter, darker and differently saturated versions of the color.
-	public static int[] monochromatics(int color) {//TODO more
-		return null;	//H° + 0°	(C* will change)
+	public static int[] monochromatics(int color) {
+		return harmonies(Scheme.MONOCHROMATIC, color);
 	}
 
 	//This is the color opposite on the color wheel.
 	public static int complement(int color) {
-		LCH col = RGB.of(color).toLCH();
-		col.setL(wheel(col.getL(), 180));
-		return col.toRGB().getColor();
+		return harmonies(Scheme.COMPLEMENT, color)[0];
 	}
 
-	private static int[] harmonies(int color, int degree) {
-		int[] colors = new int[2];
-		LCH lch = RGB.of(color).toLCH();
-		colors[0] = LCH.of(wheel(lch.getL(), degree), lch.getC(), lch.getH()).toRGB().getColor();
-		colors[1] = LCH.of(wheel(lch.getL(), -degree), lch.getC(), lch.getH()).toRGB().getColor();
-		return colors;
-	}
-	private static float wheel(float hue, int deg) {
-		float out = hue + deg;
+	/**
+	 * @param scheme harmony scheme
+	 * @param color  seed ARGB color
+	 * @return {@link Scheme#size()} opaque colors
+	 */
+	public static int[] harmonies(@NotNull Scheme scheme, int color) {
+		final int[] out = new int[scheme.size()];
+		harmonies(scheme, new int[]{color}, 0, 1, out, 0);
 		return out;
 	}
+
+	/**
+	 * Generates the harmony colors of {@code len} seeds, {@link Scheme#size()} colors per
+	 * seed, seed by seed.
+	 *
+	 * @param scheme harmony scheme
+	 * @param seeds  seed ARGB colors
+	 * @param off    first seed
+	 * @param len    number of seeds
+	 * @param out    receives {@code len * scheme.size()} opaque colors
+	 * @param outOff first index to write
+	 */
+	public static void harmonies(@NotNull Scheme scheme, @NotNull int[] seeds, int off, int len,
+	                             @NotNull int[] out, int outOff) {
+		final int size = scheme.size();
+		Utils.checkRange(seeds.length, off, len);
+		Utils.checkRange(out.length, outOff, len * size);
+		final float[] cos = scheme.cos, sin = scheme.sin;
+		final float[] lab = new float[Math.min(len, CHUNK) * 3];
+		for (int start = 0; start < len; start += CHUNK) {
+			final int n = Math.min(CHUNK, len - start);
+			Kernels.rgbToLab(seeds, off + start, n, lab, 0);
+			for (int i = 0, o = outOff + start * size; i < n; i++, o += size) {
+				final float L = lab[i * 3], a = lab[i * 3 + 1], b = lab[i * 3 + 2];
+				if (scheme == Scheme.MONOCHROMATIC) {
+					final float lighter = (Math.max(L, LIGHTEST) - L) / 3;
+					final float darker = (L - Math.min(L, DARKEST)) / 3;
+					out[o] = toRgb(L + 2 * lighter, a, b);
+					out[o + 1] = toRgb(L + lighter, a, b);
+					out[o + 2] = toRgb(L - darker, a, b);
+					out[o + 3] = toRgb(L - 2 * darker, a, b);
+				} else {
+					for (int k = 0; k < size; k++) {
+						out[o + k] = toRgb(L, a * cos[k] - b * sin[k], a * sin[k] + b * cos[k]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * CIE LAB to opaque RGB, with the chroma reduced to fit the gamut.
+	 */
+	private static int toRgb(float L, float a, float b) {
+		final float scale = Conversions.gamutScale(L, a, b);
+		return Conversions.labToRgb(L, a * scale, b * scale);
+	}
 }
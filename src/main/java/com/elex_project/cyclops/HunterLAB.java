@@ -14,7 +14,7 @@ import lombok.*;
 @EqualsAndHashCode
 @ToString
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class HunterLAB implements Color {
+public final class HunterLAB implements Color {
 	private float L, a, b;
 
 	public static HunterLAB of(final float lightness, final float a, final float b) {
@@ -48,15 +48,7 @@ public class HunterLAB implements Color {
 
 	@Override
 	public XYZ toXYZ() {
-		float var_Y = L / 10f;
-		float var_X = a / 17.5f * L / 10f;
-		float var_Z = b / 7f * L / 10f;
-
-		float Y = (float) Math.pow(var_Y, 2);
-		float X = ( var_X + Y ) / 1.02f;
-		float Z = -( var_Z - Y ) / 0.847f;
-
-		return XYZ.of(X, Y, Z);
+		return Conversions.hunterLabToXyz(L, a, b);
 	}
 
 	@Override
@@ -7,18 +7,55 @@
 
 package com.elex_project.cyclops;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
 
 import static com.elex_project.cyclops.Utils.argb;
 import static com.elex_project.cyclops.Utils.rgb;
 
+/**
+ * Named colors.
+ * <p>
+ * Names are matched ignoring case, whitespace, hyphens and underscores, so
+ * "BlueViolet", "blue-violet" and "blue violet" resolve to the same color.
+ * The entries are kept in sorted primitive tables and looked up by binary search
+ * directly on the given {@link CharSequence}, without allocating.
+ *
+ * @author Elex
+ */
 public class IndexedColors {
-	private static final Map<String, Integer> map;
+	/**
+	 * Distance used to find the nearest named color.
+	 */
+	public enum Metric {
+		/**
+		 * Euclidean distance in CIE LAB (ΔE*76)
+		 */
+		CIE76,
+		/**
+		 * Euclidean distance of the 8-bit sRGB components
+		 */
+		RGB
+	}
+
+	/**
+	 * Normalized names, back to back, sorted
+	 */
+	private static final char[] KEYS;
+	/**
+	 * Start of each key in {@link #KEYS}, one extra entry marks the end
+	 */
+	private static final int[] KEY_OFFSETS;
+	private static final int[] COLORS;
+	/**
+	 * Display name of each entry
+	 */
+	private static final String[] NAMES;
+	private static final Set<String> NAME_SET;
 
 	static {
-		map = new HashMap<>();
+		final Map<String, Integer> map = new HashMap<>();
 		map.put("alice blue", rgb(0xf0, 0xf8, 0xff));
 		map.put("air force blue", rgb(0x5d, 0x8a, 0xa8));
 		//map.put("alice blue", rgb( 0xf0, 0xf8, 0xff));
@@ -792,17 +829,254 @@ public class IndexedColors {
 		map.put("yellow", rgb(0xff, 0xff, 0x00));
 		map.put("zaffre", rgb(0x00, 0x14, 0xa8));
 		map.put("zinnwaldite brown", rgb(0x2c, 0x16, 0x08));
+
+		// Sort by normalized key; names that normalize alike ("corn silk", "cornsilk") share the
+		// entry of the first, and all of them stay in the name set.
+		final String[][] entries = new String[map.size()][];
+		int n = 0;
+		for (String name : map.keySet()) {
+			entries[n++] = new String[]{normalize(name), name};
+		}
+		Arrays.sort(entries, (e1, e2) -> {
+			final int c = e1[0].compareTo(e2[0]);
+			return c != 0 ? c : e1[1].compareTo(e2[1]);
+		});
+		final StringBuilder keys = new StringBuilder();
+		final int[] offsets = new int[entries.length + 1];
+		final int[] colors = new int[entries.length];
+		final String[] names = new String[entries.length];
+		final Set<String> nameSet = new LinkedHashSet<>();
+		n = 0;
+		for (String[] entry : entries) {
+			nameSet.add(entry[1]);
+			if (n > 0 && entry[0].contentEquals(keys.subSequence(offsets[n - 1], offsets[n]))) continue;
+			keys.append(entry[0]);
+			offsets[n + 1] = keys.length();
+			colors[n] = map.get(entry[1]);
+			names[n] = entry[1];
+			n++;
+		}
+		KEYS = keys.toString().toCharArray();
+		KEY_OFFSETS = Arrays.copyOf(offsets, n + 1);
+		COLORS = Arrays.copyOf(colors, n);
+		NAMES = Arrays.copyOf(names, n);
+		NAME_SET = Collections.unmodifiableSet(nameSet);
 	}
 
 	private IndexedColors() {
 
 	}
 
-	public static int get(final String name) {
-		return map.get(name);
+	private static boolean isIgnorable(char c) {
+		return c == '-' || c == '_' || Character.isWhitespace(c);
+	}
+
+	private static String normalize(String name) {
+		final StringBuilder sb = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
+			final char c = name.charAt(i);
+			if (!isIgnorable(c)) sb.append(Character.toLowerCase(c));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Compares the normalized form of {@code name} with the key of an entry.
+	 */
+	private static int compare(CharSequence name, int entry) {
+		int k = KEY_OFFSETS[entry];
+		final int end = KEY_OFFSETS[entry + 1];
+		for (int i = 0, len = name.length(); i < len; i++) {
+			final char c = name.charAt(i);
+			if (isIgnorable(c)) continue;
+			if (k == end) return 1;
+			final int d = Character.toLowerCase(c) - KEYS[k++];
+			if (d != 0) return d;
+		}
+		return k == end ? 0 : -1;
+	}
+
+	/**
+	 * @return index of the entry, or -1
+	 */
+	private static int indexOf(CharSequence name) {
+		int lo = 0, hi = COLORS.length - 1;
+		while (lo <= hi) {
+			final int mid = (lo + hi) >>> 1;
+			final int c = compare(name, mid);
+			if (c > 0) {
+				lo = mid + 1;
+			} else if (c < 0) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the color of a name.
+	 *
+	 * @param name color name, case, whitespace and hyphens are ignored
+	 * @return ARGB color
+	 * @throws IllegalArgumentException if the name is unknown
+	 */
+	public static int get(@NotNull final CharSequence name) {
+		final int i = indexOf(name);
+		if (i < 0) {
+			throw new IllegalArgumentException("Unknown color name: " + name);
+		}
+		return COLORS[i];
+	}
+
+	/**
+	 * Returns the color of a name.
+	 *
+	 * @param name color name, case, whitespace and hyphens are ignored
+	 * @return ARGB color
+	 * @throws IllegalArgumentException if the name is unknown
+	 */
+	public static int get(@NotNull final String name) {
+		return get((CharSequence) name);
+	}
+
+	/**
+	 * Returns the color of a name, or {@code defaultColor} if the name is unknown.
+	 * Does not allocate.
+	 *
+	 * @param name         color name, case, whitespace and hyphens are ignored
+	 * @param defaultColor returned for unknown names
+	 * @return ARGB color
+	 */
+	public static int getOrDefault(@NotNull final CharSequence name, final int defaultColor) {
+		final int i = indexOf(name);
+		return i < 0 ? defaultColor : COLORS[i];
 	}
 
+	/**
+	 * Returns the color of a name.
+	 *
+	 * @param name color name, case, whitespace and hyphens are ignored
+	 * @return ARGB color, or empty if the name is unknown
+	 */
+	public static OptionalInt find(@NotNull final CharSequence name) {
+		final int i = indexOf(name);
+		return i < 0 ? OptionalInt.empty() : OptionalInt.of(COLORS[i]);
+	}
+
+	public static boolean contains(@NotNull final CharSequence name) {
+		return indexOf(name) >= 0;
+	}
+
+	/**
+	 * @return display names of the indexed colors, including aliases such as "cornsilk" and
+	 * "corn silk", unmodifiable
+	 */
 	public static Set<String> nameSet() {
-		return map.keySet();
+		return NAME_SET;
+	}
+
+	/**
+	 * Returns the name of the color closest to {@code color} in CIE LAB.
+	 *
+	 * @param color RGB color, the alpha component is ignored
+	 * @return name of the nearest indexed color
+	 */
+	public static String nearest(int color) {
+		return nearest(color, Metric.CIE76);
+	}
+
+	/**
+	 * Returns the name of the color closest to {@code color}.
+	 *
+	 * @param color  RGB color, the alpha component is ignored
+	 * @param metric distance to minimize
+	 * @return name of the nearest indexed color
+	 */
+	public static String nearest(int color, @NotNull Metric metric) {
+		return NAMES[Nearest.nearest(color, metric)];
+	}
+
+	/**
+	 * Returns the names of the {@code k} colors closest to {@code color} in CIE LAB.
+	 *
+	 * @param color RGB color, the alpha component is ignored
+	 * @param k     number of names to return
+	 * @return names, nearest first
+	 */
+	public static String[] nearest(int color, int k) {
+		return nearest(color, k, Metric.CIE76);
+	}
+
+	/**
+	 * Returns the names of the {@code k} colors closest to {@code color}.
+	 *
+	 * @param color  RGB color, the alpha component is ignored
+	 * @param k      number of names to return
+	 * @param metric distance to minimize
+	 * @return names, nearest first
+	 */
+	public static String[] nearest(int color, int k, @NotNull Metric metric) {
+		if (k < 1) {
+			throw new IllegalArgumentException("k must be positive.");
+		}
+		final KdTree tree = Nearest.TREES[metric.ordinal()];
+		k = Math.min(k, tree.size());
+		final float[] p = new float[3];
+		Nearest.point(color, metric, p, 0);
+		final int[] ids = new int[k];
+		tree.nearest(p[0], p[1], p[2], ids, new float[k]);
+		final String[] names = new String[k];
+		for (int i = 0; i < k; i++) {
+			names[i] = NAMES[ids[i]];
+		}
+		return names;
+	}
+
+	/**
+	 * k-d trees over the indexed colors, built on first use.
+	 */
+	private static final class Nearest {
+		static final KdTree[] TREES = new KdTree[Metric.values().length];
+
+		static {
+			final int[] ids = new int[COLORS.length];
+			for (Metric metric : Metric.values()) {
+				final float[] coords = new float[COLORS.length * 3];
+				for (int i = 0; i < COLORS.length; i++) {
+					ids[i] = i;
+					point(COLORS[i], metric, coords, i * 3);
+				}
+				TREES[metric.ordinal()] = new KdTree(coords, ids);
+			}
+		}
+
+		static void point(int color, Metric metric, float[] out, int off) {
+			if (metric == Metric.CIE76) {
+				Conversions.rgbToLab(color, out, off);
+			} else {
+				out[off] = Utils.red(color);
+				out[off + 1] = Utils.green(color);
+				out[off + 2] = Utils.blue(color);
+			}
+		}
+
+		/**
+		 * Same as a query at {@link #point}, with the point in locals.
+		 */
+		static int nearest(int color, Metric metric) {
+			final KdTree tree = TREES[metric.ordinal()];
+			if (metric != Metric.CIE76) {
+				return tree.nearest(Utils.red(color), Utils.green(color), Utils.blue(color));
+			}
+			final float r = Conversions.linearize(Utils.red(color));
+			final float g = Conversions.linearize(Utils.green(color));
+			final float b = Conversions.linearize(Utils.blue(color));
+			final float fx = Conversions.pivotX(Conversions.toX(r, g, b));
+			final float fy = Conversions.pivotY(Conversions.toY(r, g, b));
+			final float fz = Conversions.pivotZ(Conversions.toZ(r, g, b));
+			return tree.nearest((116 * fy) - 16, 500 * (fx - fy), 200 * (fy - fz));
+		}
 	}
 }
@@ -0,0 +1,183 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import java.util.Arrays;
+
+/**
+ * Static 3-dimensional k-d tree for nearest neighbour queries under the euclidean distance.
+ * <p>
+ * The tree is implicit: the points are reordered so that the node of a range
+ * {@code [lo, hi)} is its middle element, split on axis {@code depth % 3}.
+ *
+ * @author Elex
+ */
+final class KdTree {
+	private static final long NONE = (long) Float.floatToRawIntBits(Float.POSITIVE_INFINITY) << 32;
+
+	private final float[] points;
+	private final int[] ids;
+
+	/**
+	 * @param coords 3 coordinates per point
+	 * @param ids    payload of each point, returned by the queries
+	 */
+	KdTree(float[] coords, int[] ids) {
+		final int n = ids.length;
+		final int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		build(coords, order, 0, n, 0);
+
+		this.points = new float[n * 3];
+		this.ids = new int[n];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(coords, order[i] * 3, points, i * 3, 3);
+			this.ids[i] = ids[order[i]];
+		}
+	}
+
+	private static void build(float[] coords, int[] order, int lo, int hi, int depth) {
+		if (hi - lo <= 1) return;
+		final int mid = (lo + hi) >>> 1;
+		select(coords, order, lo, hi - 1, mid, depth % 3);
+		build(coords, order, lo, mid, depth + 1);
+		build(coords, order, mid + 1, hi, depth + 1);
+	}
+
+	/**
+	 * Moves the k-th smallest element on {@code axis} of {@code order[left..right]} to {@code k}.
+	 */
+	private static void select(float[] coords, int[] order, int left, int right, int k, int axis) {
+		while (left < right) {
+			final float pivot = coords[order[(left + right) >>> 1] * 3 + axis];
+			int i = left, j = right;
+			while (i <= j) {
+				while (coords[order[i] * 3 + axis] < pivot) i++;
+				while (coords[order[j] * 3 + axis] > pivot) j--;
+				if (i <= j) {
+					final int t = order[i];
+					order[i] = order[j];
+					order[j] = t;
+					i++;
+					j--;
+				}
+			}
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	int size() {
+		return ids.length;
+	}
+
+	/**
+	 * @return payload of the nearest point
+	 */
+	int nearest(float x, float y, float z) {
+		return (int) nearest(x, y, z, 0, ids.length, 0, NONE);
+	}
+
+	/**
+	 * Finds the {@code k = outIds.length} nearest points, closest first.
+	 *
+	 * @param outIds      receives the payloads
+	 * @param outDistance receives the squared distances, as long as {@code outIds}
+	 * @return number of points found, {@code min(k, size())}
+	 */
+	int nearest(float x, float y, float z, int[] outIds, float[] outDistance) {
+		Arrays.fill(outDistance, Float.POSITIVE_INFINITY);
+		search(x, y, z, 0, ids.length, 0, outIds, outDistance);
+		return Math.min(outIds.length, ids.length);
+	}
+
+	/**
+	 * @param best nearest point so far, packed by {@link #pack(int, float)}
+	 * @return nearest point of the range or {@code best}, packed
+	 */
+	private long nearest(float x, float y, float z, int lo, int hi, int depth, long best) {
+		if (lo >= hi) return best;
+		final int mid = (lo + hi) >>> 1;
+		final int p = mid * 3;
+		final float dx = x - points[p], dy = y - points[p + 1], dz = z - points[p + 2];
+		final float distance = dx * dx + dy * dy + dz * dz;
+		if (distance < distance(best)) best = pack(ids[mid], distance);
+
+		final int axis = depth % 3;
+		final float diff = axis == 0 ? dx : (axis == 1 ? dy : dz);
+		if (diff < 0) {
+			best = nearest(x, y, z, lo, mid, depth + 1, best);
+			if (diff * diff < distance(best)) {
+				best = nearest(x, y, z, mid + 1, hi, depth + 1, best);
+			}
+		} else {
+			best = nearest(x, y, z, mid + 1, hi, depth + 1, best);
+			if (diff * diff < distance(best)) {
+				best = nearest(x, y, z, lo, mid, depth + 1, best);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Squared distance in the high half, payload in the low half.
+	 */
+	private static long pack(int id, float distance) {
+		return (long) Float.floatToRawIntBits(distance) << 32 | (id & 0xFFFFFFFFL);
+	}
+
+	private static float distance(long packed) {
+		return Float.intBitsToFloat((int) (packed >>> 32));
+	}
+
+	private void search(float x, float y, float z, int lo, int hi, int depth,
+	                    int[] best, float[] bestDistance) {
+		if (lo >= hi) return;
+		final int mid = (lo + hi) >>> 1;
+		final int p = mid * 3;
+		final float dx = x - points[p], dy = y - points[p + 1], dz = z - points[p + 2];
+		offer(ids[mid], dx * dx + dy * dy + dz * dz, best, bestDistance);
+
+		final int axis = depth % 3;
+		final float diff = axis == 0 ? dx : (axis == 1 ? dy : dz);
+		if (diff < 0) {
+			search(x, y, z, lo, mid, depth + 1, best, bestDistance);
+			if (diff * diff < bestDistance[best.length - 1]) {
+				search(x, y, z, mid + 1, hi, depth + 1, best, bestDistance);
+			}
+		} else {
+			search(x, y, z, mid + 1, hi, depth + 1, best, bestDistance);
+			if (diff * diff < bestDistance[best.length - 1]) {
+				search(x, y, z, lo, mid, depth + 1, best, bestDistance);
+			}
+		}
+	}
+
+	/**
+	 * Insertion into the sorted candidate list, which is as long as {@code best}. The
+	 * unfilled tail holds infinite distances.
+	 */
+	private static void offer(int id, float distance, int[] best, float[] bestDistance) {
+		int i = best.length - 1;
+		if (distance >= bestDistance[i]) return;
+		while (i > 0 && bestDistance[i - 1] > distance) {
+			best[i] = best[i - 1];
+			bestDistance[i] = bestDistance[i - 1];
+			i--;
+		}
+		best[i] = id;
+		bestDistance[i] = distance;
+	}
+}
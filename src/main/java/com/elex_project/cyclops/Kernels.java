@@ -0,0 +1,48 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+/**
+ * Bulk kernels behind {@link ColorConverter} and {@link Compositor}.
+ * <p>
+ * This is the Java 8 version, which runs the {@link ScalarKernels}. The multi-release JAR
+ * replaces it on Java 21 and later with a version that uses the Vector API when the
+ * {@code jdk.incubator.vector} module is present. Both produce bit-identical results.
+ * Ranges are checked by the callers.
+ *
+ * @author Elex
+ */
+final class Kernels {
+	private Kernels() {
+	}
+
+	/**
+	 * @return true if the kernels run on the Vector API
+	 */
+	static boolean isVectorized() {
+		return false;
+	}
+
+	static void rgbToXyz(int[] argb, int off, int len, float[] out, int outOff) {
+		ScalarKernels.rgbToXyz(argb, off, len, out, outOff);
+	}
+
+	static void rgbToLab(int[] argb, int off, int len, float[] out, int outOff) {
+		ScalarKernels.rgbToLab(argb, off, len, out, outOff);
+	}
+
+	static void blend(int[] colors1, int off1, int[] colors2, int off2, int len, float ratio,
+	                  int[] out, int outOff) {
+		ScalarKernels.blend(colors1, off1, colors2, off2, len, ratio, out, outOff);
+	}
+
+	static void composite(int[] foreground, int fgOff, int[] background, int bgOff, int len,
+	                      int[] out, int outOff) {
+		ScalarKernels.composite(foreground, fgOff, background, bgOff, len, out, outOff);
+	}
+}
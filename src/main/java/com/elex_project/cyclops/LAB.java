@@ -14,7 +14,7 @@ import lombok.*;
 @EqualsAndHashCode
 @ToString
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class LAB implements Color {
+public final class LAB implements Color {
 	private float L, a, b;
 
 	/**
@@ -49,12 +49,12 @@ public class LAB implements Color {
 
 	@Override
 	public HSL toHSL() {
-		return toXYZ().toHSL();
+		return Conversions.rgbToHsl(Conversions.labToRgb(L, a, b));
 	}
 
 	@Override
 	public HSV toHSV() {
-		return toXYZ().toHSV();
+		return Conversions.rgbToHsv(Conversions.labToRgb(L, a, b));
 	}
 
 	@Override
@@ -64,7 +64,7 @@ public class LAB implements Color {
 
 	@Override
 	public RGB toRGB() {
-		return toXYZ().toRGB();
+		return RGB.of(Conversions.labToRgb(L, a, b));
 	}
 
 	/**
@@ -81,35 +81,7 @@ public class LAB implements Color {
 	 */
 	@Override
 	public XYZ toXYZ() {
-		float var_Y = (L + 16) / 116f;
-		float var_X = a / 500 + var_Y;
-		float var_Z = var_Y - b / 200f;
-
-		if (Math.pow(var_Y, 3) > 0.008856) {
-			var_Y = (float) Math.pow(var_Y, 3);
-		} else {
-			var_Y = (var_Y - 16 / 116f) / 7.787f;
-		}
-		if (Math.pow(var_X, 3) > 0.008856) {
-			var_X = (float) Math.pow(var_X, 3);
-		} else {
-			var_X = (var_X - 16 / 116f) / 7.787f;
-		}
-		if (Math.pow(var_Z, 3) > 0.008856) {
-			var_Z = (float) Math.pow(var_Z, 3);
-		} else {
-			var_Z = (var_Z - 16 / 116f) / 7.787f;
-		}
-
-		float ref_X = 95.047f;     //Observer= 2°, Illuminant= D65
-		float ref_Y = 100.000f;
-		float ref_Z = 108.883f;
-
-		float X = ref_X * var_X;
-		float Y = ref_Y * var_Y;
-		float Z = ref_Z * var_Z;
-
-		return XYZ.of(X, Y, Z);
+		return Conversions.labToXyz(L, a, b);
 	}
 
 	@Override
@@ -124,23 +96,7 @@ public class LAB implements Color {
 
 	@Override
 	public LCH toLCH() {
-		//float L = lab[0];
-		//float a = lab[1];
-		//float b = lab[2];
-
-		float var_H = (float) Math.atan2(b, a);  //Quadrant by signs //TODO check this
-
-		if (var_H > 0) {
-			var_H = (float) ((var_H / Math.PI) * 180);
-		} else {
-			var_H = (float) (360 - (Math.abs(var_H) / Math.PI) * 180);
-		}
-
-		//CIE-L* = CIE-L*;
-		float C = (float) Math.sqrt(Math.pow(a, 2) + Math.pow(b, 2));
-		float H = var_H;
-
-		return LCH.of(L, C, H);
+		return Conversions.labToLch(L, a, b);
 	}
 
 	@Override
@@ -14,7 +14,7 @@ import lombok.*;
 @EqualsAndHashCode
 @ToString
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class LCH implements Color {
+public final class LCH implements Color {
 	private float L, c, h;
 
 	public static LCH of(float L, float c, float h) {
@@ -39,17 +39,12 @@ public class LCH implements Color {
 	@Override
 	public LAB toLAB() {
 		//CIE-H° from 0 to 360°
-
-		//L = L;
-		float a = (float) ((Math.cos(Math.PI / 180f * h)) * c);
-		float b = (float) ((Math.sin(Math.PI / 180f * h)) * c);
-
-		return LAB.of(L, a, b);
+		return Conversions.lchToLab(L, c, h);
 	}
 
 	@Override
 	public RGB toRGB() {
-		return toLAB().toRGB();
+		return RGB.of(Conversions.lchToRgb(L, c, h));
 	}
 
 	@Override
@@ -14,7 +14,7 @@ import lombok.*;
 @EqualsAndHashCode
 @ToString
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class LUV implements Color {
+public final class LUV implements Color {
 	private float L, u, v;
 
 	public static LUV of(float L, float u, float v) {
@@ -43,33 +43,12 @@ public class LUV implements Color {
 
 	@Override
 	public RGB toRGB() {
-		return toXYZ().toRGB();
+		return RGB.of(Conversions.luvToRgb(L, u, v));
 	}
 
 	@Override
 	public XYZ toXYZ() {
-		float var_Y = (L + 16) / 116f;
-		if (Math.pow(var_Y, 3) > 0.008856) {
-			var_Y = (float) Math.pow(var_Y, 3);
-		} else {
-			var_Y = (var_Y - 16 / 116f) / 7.787f;
-		}
-
-		float ref_X = 95.047f;      //Observer= 2°, Illuminant= D65
-		float ref_Y = 100.000f;
-		float ref_Z = 108.883f;
-
-		float ref_U = (4 * ref_X) / (ref_X + (15 * ref_Y) + (3 * ref_Z));
-		float ref_V = (9 * ref_Y) / (ref_X + (15 * ref_Y) + (3 * ref_Z));
-
-		float var_U = u / (13 * L) + ref_U;
-		float var_V = v / (13 * L) + ref_V;
-
-		float Y = var_Y * 100;
-		float X = -(9 * Y * var_U) / ((var_U - 4) * var_V - var_U * var_V);
-		float Z = (9 * Y - (15 * var_V * Y) - (var_V * X)) / (3 * var_V);
-
-		return XYZ.of(X, Y, Z);
+		return Conversions.luvToXyz(L, u, v);
 	}
 
 	@Override
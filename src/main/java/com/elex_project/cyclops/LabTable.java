@@ -0,0 +1,132 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed CIE LAB of every 24-bit RGB color.
+ * <p>
+ * The table is opt-in: it holds 2<sup>24</sup> entries of three 16-bit fixed point values
+ * (96 MiB) in a direct {@link ByteBuffer}, outside of the Java heap. The JVM must allow that
+ * much direct memory ({@code -XX:MaxDirectMemorySize}). It is built in parallel on the first
+ * {@link #get()}.
+ * <p>
+ * Once {@link #setEnabled(boolean) enabled}, {@link RGB#toLAB()} and
+ * {@link ColorConverter} read LAB from the table instead of computing it. Quantization
+ * keeps every component within 0.002 of the computed value: L is stored in steps of
+ * 100/65535, a and b in steps of 1/256.
+ *
+ * @author Elex
+ */
+public final class LabTable {
+	private static final int ENTRIES = 1 << 24;
+	private static final int ENTRY_BYTES = 6;
+	private static final float L_SCALE = 65535 / 100f;
+	private static final float AB_SCALE = 256f;
+
+	private static volatile boolean enabled = false;
+	private static volatile LabTable instance;
+
+	private final ByteBuffer table;
+
+	private LabTable(ByteBuffer table) {
+		this.table = table;
+	}
+
+	/**
+	 * Routes {@link RGB#toLAB()} and LAB bulk conversion through the table.
+	 * The table itself is built on the first conversion after enabling.
+	 *
+	 * @param enabled true to use the table
+	 */
+	public static void setEnabled(boolean enabled) {
+		LabTable.enabled = enabled;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the table, building it on the first call.
+	 *
+	 * @return the shared table
+	 */
+	public static LabTable get() {
+		LabTable table = instance;
+		if (table == null) {
+			synchronized (LabTable.class) {
+				table = instance;
+				if (table == null) {
+					table = new LabTable(build());
+					instance = table;
+				}
+			}
+		}
+		return table;
+	}
+
+	private static ByteBuffer build() {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(ENTRIES * ENTRY_BYTES)
+				.order(ByteOrder.nativeOrder());
+		// One red plane per task, absolute puts never touch the buffer position.
+		IntStream.range(0, 256).parallel().forEach(red -> {
+			final float[] lab = new float[3];
+			final int base = red << 16;
+			for (int gb = 0; gb < 0x10000; gb++) {
+				final int index = base | gb;
+				Conversions.rgbToLab(index, lab, 0);
+				final int pos = index * ENTRY_BYTES;
+				buffer.putChar(pos, (char) Math.round(Utils.constrain(lab[0], 0, 100) * L_SCALE));
+				buffer.putShort(pos + 2, (short) Math.round(lab[1] * AB_SCALE));
+				buffer.putShort(pos + 4, (short) Math.round(lab[2] * AB_SCALE));
+			}
+		});
+		return buffer;
+	}
+
+	/**
+	 * Looks up the LAB components of a color. The alpha component is ignored.
+	 *
+	 * @param color ARGB color
+	 * @param out   receives L, a, b
+	 * @param off   first index to write
+	 */
+	public void lookup(int color, @NotNull float[] out, int off) {
+		final int pos = (color & 0xFFFFFF) * ENTRY_BYTES;
+		out[off] = table.getChar(pos) / L_SCALE;
+		out[off + 1] = table.getShort(pos + 2) / AB_SCALE;
+		out[off + 2] = table.getShort(pos + 4) / AB_SCALE;
+	}
+
+	/**
+	 * {@link #lookup(int, float[], int)} for {@link RGB}, allocating only the result.
+	 */
+	@NotNull
+	LAB lookup(int color) {
+		final int pos = (color & 0xFFFFFF) * ENTRY_BYTES;
+		return LAB.of(table.getChar(pos) / L_SCALE,
+				table.getShort(pos + 2) / AB_SCALE,
+				table.getShort(pos + 4) / AB_SCALE);
+	}
+
+	/**
+	 * Looks up {@code len} colors starting at {@code argbIn[off]} and writes their LAB
+	 * components interleaved from {@code out[outOff]}.
+	 */
+	public void lookup(@NotNull int[] argbIn, int off, int len, @NotNull float[] out, int outOff) {
+		for (int i = off, o = outOff, end = off + len; i < end; i++, o += 3) {
+			lookup(argbIn[i], out, o);
+		}
+	}
+}
@@ -0,0 +1,379 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+/**
+ * 3D lookup table over the RGB cube.
+ * <p>
+ * A conversion chain of any length is baked once into a grid of {@code size³} points and
+ * then applied with trilinear or tetrahedral interpolation, so the cost per pixel does not
+ * depend on the chain. For example, a hue shift in LCH:
+ * <pre>
+ * Lut3D lut = Lut3D.bake(33, color -&gt; {
+ *     LCH lch = color.toLCH();
+ *     lch.setH(lch.getH() + 30);
+ *     return lch;
+ * });
+ * lut.apply(pixels, 0, pixels.length, pixels, 0, Lut3D.Interpolation.TETRAHEDRAL);
+ * </pre>
+ * Tables with other than 3 output channels, RGB to CMYK for example, are baked with
+ * {@link #bake(int, int, Transform)}. 3-channel tables can be read and written in the
+ * {@code .cube} format.
+ *
+ * @author Elex
+ */
+public final class Lut3D {
+	private static final int MIN_SIZE = 2;
+	private static final int MAX_SIZE = 256;
+
+	public enum Interpolation {
+		TRILINEAR, TETRAHEDRAL
+	}
+
+	/**
+	 * Computes the table value of one grid point.
+	 */
+	@FunctionalInterface
+	public interface Transform {
+		/**
+		 * @param red   [0..1]
+		 * @param green [0..1]
+		 * @param blue  [0..1]
+		 * @param out   receives the output channels
+		 */
+		void apply(float red, float green, float blue, float[] out);
+	}
+
+	private final int size, channels;
+	/**
+	 * Grid values, red changes fastest, then green, then blue (the {@code .cube} order).
+	 */
+	private final float[] data;
+
+	private Lut3D(int size, int channels, float[] data) {
+		this.size = size;
+		this.channels = channels;
+		this.data = data;
+	}
+
+	private static void checkSize(int size) {
+		if (size < MIN_SIZE || size > MAX_SIZE) {
+			throw new IllegalArgumentException("size must be between " + MIN_SIZE + " and " + MAX_SIZE + ".");
+		}
+	}
+
+	/**
+	 * Bakes a transform into a table.
+	 *
+	 * @param size     grid points per axis, e.g. 17, 33 or 65
+	 * @param channels output channels per grid point
+	 * @param transform the conversion to bake
+	 * @return the table
+	 */
+	public static Lut3D bake(int size, int channels, @NotNull Transform transform) {
+		checkSize(size);
+		if (channels < 1) {
+			throw new IllegalArgumentException("channels must be positive.");
+		}
+		final float[] data = new float[size * size * size * channels];
+		final float[] out = new float[channels];
+		final float step = 1f / (size - 1);
+		int i = 0;
+		for (int b = 0; b < size; b++) {
+			for (int g = 0; g < size; g++) {
+				for (int r = 0; r < size; r++) {
+					transform.apply(r * step, g * step, b * step, out);
+					System.arraycopy(out, 0, data, i, channels);
+					i += channels;
+				}
+			}
+		}
+		return new Lut3D(size, channels, data);
+	}
+
+	/**
+	 * Bakes a chain of {@link Color} conversions into an RGB to RGB table.
+	 * Each grid point is rounded to an 8-bit {@link RGB}, passed to {@code chain}, and
+	 * the result is stored through {@link Color#toRGB()}.
+	 *
+	 * @param size  grid points per axis, e.g. 17, 33 or 65
+	 * @param chain the conversion to bake
+	 * @return the table
+	 */
+	public static Lut3D bake(int size, @NotNull UnaryOperator<Color> chain) {
+		return bake(size, 3, (red, green, blue, out) -> {
+			RGB rgb = chain.apply(RGB.of(Math.round(red * 255), Math.round(green * 255), Math.round(blue * 255)))
+					.toRGB();
+			out[0] = rgb.red() / 255f;
+			out[1] = rgb.green() / 255f;
+			out[2] = rgb.blue() / 255f;
+		});
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int channels() {
+		return channels;
+	}
+
+	/**
+	 * Interpolates the table at one point.
+	 *
+	 * @param red           [0..1], clamped
+	 * @param green         [0..1], clamped
+	 * @param blue          [0..1], clamped
+	 * @param out           receives {@link #channels()} values
+	 * @param off           first index to write
+	 * @param interpolation interpolation method
+	 */
+	public void sample(float red, float green, float blue, @NotNull float[] out, int off,
+	                   @NotNull Interpolation interpolation) {
+		if (interpolation == Interpolation.TETRAHEDRAL) {
+			tetrahedral(red, green, blue, out, off);
+		} else {
+			trilinear(red, green, blue, out, off);
+		}
+	}
+
+	/**
+	 * Applies an RGB to RGB table to {@code len} pixels. The alpha component is kept.
+	 * {@code argbIn} and {@code argbOut} may be the same array.
+	 */
+	public void apply(@NotNull int[] argbIn, int off, int len, @NotNull int[] argbOut, int outOff,
+	                  @NotNull Interpolation interpolation) {
+		if (channels != 3) {
+			throw new IllegalStateException("Only a 3-channel table maps to RGB.");
+		}
+		Utils.checkRange(argbIn.length, off, len);
+		Utils.checkRange(argbOut.length, outOff, len);
+		final float[] rgb = new float[3];
+		final boolean tetrahedral = interpolation == Interpolation.TETRAHEDRAL;
+		for (int i = 0; i < len; i++) {
+			final int color = argbIn[off + i];
+			final float r = Utils.red(color) / 255f;
+			final float g = Utils.green(color) / 255f;
+			final float b = Utils.blue(color) / 255f;
+			if (tetrahedral) {
+				tetrahedral(r, g, b, rgb, 0);
+			} else {
+				trilinear(r, g, b, rgb, 0);
+			}
+			argbOut[outOff + i] = Utils.argb(Utils.alpha(color), toByte(rgb[0]), toByte(rgb[1]), toByte(rgb[2]));
+		}
+	}
+
+	/**
+	 * Applies the table to {@code len} pixels and writes {@link #channels()} floats per
+	 * pixel, interleaved from {@code out[outOff]}.
+	 */
+	public void apply(@NotNull int[] argbIn, int off, int len, @NotNull float[] out, int outOff,
+	                  @NotNull Interpolation interpolation) {
+		Utils.checkRange(argbIn.length, off, len);
+		Utils.checkRange(out.length, outOff, len * channels);
+		final boolean tetrahedral = interpolation == Interpolation.TETRAHEDRAL;
+		for (int i = 0, o = outOff; i < len; i++, o += channels) {
+			final int color = argbIn[off + i];
+			final float r = Utils.red(color) / 255f;
+			final float g = Utils.green(color) / 255f;
+			final float b = Utils.blue(color) / 255f;
+			if (tetrahedral) {
+				tetrahedral(r, g, b, out, o);
+			} else {
+				trilinear(r, g, b, out, o);
+			}
+		}
+	}
+
+	private static int toByte(float v) {
+		return Utils.constrain(Math.round(v * 255), 0, 255);
+	}
+
+	private float cell(float v) {
+		return Utils.constrain(v, 0, 1) * (size - 1);
+	}
+
+	private static int lower(float cell, int size) {
+		return Math.min((int) cell, size - 2);
+	}
+
+	private void trilinear(float red, float green, float blue, float[] out, int off) {
+		final float fr = cell(red), fg = cell(green), fb = cell(blue);
+		final int r0 = lower(fr, size), g0 = lower(fg, size), b0 = lower(fb, size);
+		final float dr = fr - r0, dg = fg - g0, db = fb - b0;
+
+		final int sr = channels, sg = size * channels, sb = size * size * channels;
+		final int c000 = b0 * sb + g0 * sg + r0 * sr;
+		for (int c = 0; c < channels; c++) {
+			final int i = c000 + c;
+			final float x00 = data[i] + (data[i + sr] - data[i]) * dr;
+			final float x10 = data[i + sg] + (data[i + sg + sr] - data[i + sg]) * dr;
+			final float x01 = data[i + sb] + (data[i + sb + sr] - data[i + sb]) * dr;
+			final float x11 = data[i + sb + sg] + (data[i + sb + sg + sr] - data[i + sb + sg]) * dr;
+			final float y0 = x00 + (x10 - x00) * dg;
+			final float y1 = x01 + (x11 - x01) * dg;
+			out[off + c] = y0 + (y1 - y0) * db;
+		}
+	}
+
+	private void tetrahedral(float red, float green, float blue, float[] out, int off) {
+		final float fr = cell(red), fg = cell(green), fb = cell(blue);
+		final int r0 = lower(fr, size), g0 = lower(fg, size), b0 = lower(fb, size);
+		final float dr = fr - r0, dg = fg - g0, db = fb - b0;
+
+		final int sr = channels, sg = size * channels, sb = size * size * channels;
+		final int c000 = b0 * sb + g0 * sg + r0 * sr;
+		final int c111 = c000 + sr + sg + sb;
+
+		// Pick the tetrahedron by the order of the fractions, then the two inner corners
+		final int c1, c2;
+		final float w0, w1, w2, w3;
+		if (dr > dg) {
+			if (dg > db) {          // r > g > b
+				c1 = c000 + sr;
+				c2 = c000 + sr + sg;
+				w0 = 1 - dr;
+				w1 = dr - dg;
+				w2 = dg - db;
+				w3 = db;
+			} else if (dr > db) {   // r > b >= g
+				c1 = c000 + sr;
+				c2 = c000 + sr + sb;
+				w0 = 1 - dr;
+				w1 = dr - db;
+				w2 = db - dg;
+				w3 = dg;
+			} else {                // b >= r > g
+				c1 = c000 + sb;
+				c2 = c000 + sr + sb;
+				w0 = 1 - db;
+				w1 = db - dr;
+				w2 = dr - dg;
+				w3 = dg;
+			}
+		} else {
+			if (db > dg) {          // b > g >= r
+				c1 = c000 + sb;
+				c2 = c000 + sg + sb;
+				w0 = 1 - db;
+				w1 = db - dg;
+				w2 = dg - dr;
+				w3 = dr;
+			} else if (db > dr) {   // g >= b > r
+				c1 = c000 + sg;
+				c2 = c000 + sg + sb;
+				w0 = 1 - dg;
+				w1 = dg - db;
+				w2 = db - dr;
+				w3 = dr;
+			} else {                // g >= r >= b
+				c1 = c000 + sg;
+				c2 = c000 + sr + sg;
+				w0 = 1 - dg;
+				w1 = dg - dr;
+				w2 = dr - db;
+				w3 = db;
+			}
+		}
+		for (int c = 0; c < channels; c++) {
+			out[off + c] = w0 * data[c000 + c] + w1 * data[c1 + c] + w2 * data[c2 + c] + w3 * data[c111 + c];
+		}
+	}
+
+	/**
+	 * Reads a 3D table in the {@code .cube} format. Only the default [0..1] domain is supported.
+	 *
+	 * @param reader source
+	 * @return the table
+	 * @throws IOException on read errors or malformed input
+	 */
+	public static Lut3D read(@NotNull Reader reader) throws IOException {
+		final BufferedReader in = reader instanceof BufferedReader
+				? (BufferedReader) reader : new BufferedReader(reader);
+		int size = 0;
+		float[] data = null;
+		int count = 0;
+		String line;
+		while ((line = in.readLine()) != null) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) continue;
+
+			final String[] tokens = line.split("\\s+");
+			final String keyword = tokens[0];
+			if (keyword.equals("TITLE")) {
+				continue;
+			} else if (keyword.equals("LUT_3D_SIZE")) {
+				size = Integer.parseInt(tokens[1]);
+				if (size < MIN_SIZE || size > MAX_SIZE) {
+					throw new IOException("Invalid LUT_3D_SIZE: " + size);
+				}
+				data = new float[size * size * size * 3];
+			} else if (keyword.equals("DOMAIN_MIN") || keyword.equals("DOMAIN_MAX")) {
+				final float expected = keyword.equals("DOMAIN_MIN") ? 0 : 1;
+				for (int i = 1; i <= 3; i++) {
+					if (Float.parseFloat(tokens[i]) != expected) {
+						throw new IOException("Unsupported domain: " + line);
+					}
+				}
+			} else if (keyword.equals("LUT_1D_SIZE")) {
+				throw new IOException("1D tables are not supported.");
+			} else {
+				if (data == null) {
+					throw new IOException("Data before LUT_3D_SIZE: " + line);
+				}
+				if (tokens.length != 3 || count >= data.length) {
+					throw new IOException("Unexpected line: " + line);
+				}
+				try {
+					for (String token : tokens) {
+						data[count++] = Float.parseFloat(token);
+					}
+				} catch (NumberFormatException e) {
+					throw new IOException("Unexpected line: " + line, e);
+				}
+			}
+		}
+		if (data == null || count != data.length) {
+			throw new IOException("Incomplete table: " + count / 3 + " of "
+					+ (data == null ? 0 : data.length / 3) + " entries.");
+		}
+		return new Lut3D(size, 3, data);
+	}
+
+	/**
+	 * Writes a 3-channel table in the {@code .cube} format.
+	 *
+	 * @param writer destination
+	 * @param title  optional title
+	 * @throws IOException on write errors
+	 */
+	public void write(@NotNull Writer writer, @Nullable String title) throws IOException {
+		if (channels != 3) {
+			throw new IllegalStateException("Only a 3-channel table can be written as .cube.");
+		}
+		if (title != null) {
+			writer.write("TITLE \"" + title + "\"\n");
+		}
+		writer.write("LUT_3D_SIZE " + size + "\n");
+		for (int i = 0; i < data.length; i += 3) {
+			writer.write(String.format(Locale.ROOT, "%.6f %.6f %.6f\n", data[i], data[i + 1], data[i + 2]));
+		}
+		writer.flush();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Representative colors of an image with the number of pixels each one stands for,
+ * most significant first: by pixel count for the {@link Quantizer}, by score for
+ * {@link ColorHistogram#dominant(int)}.
+ *
+ * @author Elex
+ * @see Quantizer
+ */
+public final class Palette {
+	private final int[] colors;
+	private final int[] counts;
+
+	/**
+	 * @param colors ARGB colors, in order, not copied
+	 * @param counts pixel count of each color, not copied
+	 */
+	Palette(@NotNull int[] colors, @NotNull int[] counts) {
+		this.colors = colors;
+		this.counts = counts;
+	}
+
+	/**
+	 * @param colors ARGB colors
+	 * @param counts pixel count of each color
+	 * @return palette ordered by count, most frequent first
+	 */
+	static Palette byCount(@NotNull int[] colors, @NotNull int[] counts) {
+		final Integer[] order = new Integer[colors.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (i, j) -> Integer.compare(counts[j], counts[i]));
+		final int[] sortedColors = new int[colors.length];
+		final int[] sortedCounts = new int[colors.length];
+		for (int i = 0; i < order.length; i++) {
+			sortedColors[i] = colors[order[i]];
+			sortedCounts[i] = counts[order[i]];
+		}
+		return new Palette(sortedColors, sortedCounts);
+	}
+
+	/**
+	 * @return number of colors
+	 */
+	public int size() {
+		return colors.length;
+	}
+
+	/**
+	 * @param index 0 for the most significant color
+	 * @return ARGB color
+	 */
+	public int getColor(int index) {
+		return colors[index];
+	}
+
+	/**
+	 * @param index 0 for the most significant color
+	 * @return number of pixels the color stands for
+	 */
+	public int getCount(int index) {
+		return counts[index];
+	}
+
+	/**
+	 * @return ARGB colors, most significant first
+	 */
+	public int[] getColors() {
+		return colors.clone();
+	}
+
+	/**
+	 * @return pixel counts, in the order of {@link #getColors()}
+	 */
+	public int[] getCounts() {
+		return counts.clone();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("Palette(");
+		for (int i = 0; i < colors.length; i++) {
+			if (i > 0) sb.append(", ");
+			sb.append(String.format("#%06x×%d", colors[i] & 0xFFFFFF, counts[i]));
+		}
+		return sb.append(')').toString();
+	}
+}
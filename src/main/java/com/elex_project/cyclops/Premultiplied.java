@@ -0,0 +1,174 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Packed ARGB colors with premultiplied alpha, where each color component is already
+ * multiplied by the alpha, as graphics pipelines keep them for compositing.
+ * <p>
+ * Premultiplying divides by 255 with a multiply and a shift, unpremultiplying multiplies
+ * by a table of reciprocals, so neither divides. Both round to nearest, and premultiplying
+ * an unpremultiplied color gives back the same premultiplied color. Components greater
+ * than the alpha are not valid premultiplied colors and are clamped to it.
+ * <p>
+ * Blending, scaling and {@link Compositor#compositePremultiplied compositing} work on
+ * premultiplied colors directly, so a pipeline can stay premultiplied end to end and
+ * unpremultiply once at the output.
+ *
+ * @author Elex
+ */
+public final class Premultiplied {
+	/**
+	 * 255 / alpha in 16.16 fixed point, rounded up so that halves round up like
+	 * {@link Math#round(float)}
+	 */
+	private static final int[] RECIPROCAL = new int[256];
+
+	static {
+		for (int a = 1; a < 256; a++) {
+			RECIPROCAL[a] = (255 * 65536 + a - 1) / a;
+		}
+	}
+
+	private Premultiplied() {
+	}
+
+	/**
+	 * @return {@code x / 255} rounded to nearest, exact for x in [0..66171]
+	 */
+	static int div255(int x) {
+		return ((x + 127) * 0x8081) >>> 23;
+	}
+
+	/**
+	 * @param component premultiplied component [0..alpha]
+	 * @param alpha     [1..255]
+	 * @return straight component [0..255]
+	 */
+	static int unpremultiply(int component, int alpha) {
+		return (Math.min(component, alpha) * RECIPROCAL[alpha] + 32768) >>> 16;
+	}
+
+	/**
+	 * @param color ARGB color
+	 * @return premultiplied ARGB color
+	 */
+	public static int premultiply(int color) {
+		final int a = color >>> 24;
+		if (a == 255) return color;
+		return a << 24
+				| div255(((color >> 16) & 0xFF) * a) << 16
+				| div255(((color >> 8) & 0xFF) * a) << 8
+				| div255((color & 0xFF) * a);
+	}
+
+	/**
+	 * @param color premultiplied ARGB color
+	 * @return ARGB color, 0 if fully transparent
+	 */
+	public static int unpremultiply(int color) {
+		final int a = color >>> 24;
+		if (a == 255) return color;
+		if (a == 0) return 0;
+		final int reciprocal = RECIPROCAL[a];
+		return a << 24
+				| ((Math.min((color >> 16) & 0xFF, a) * reciprocal + 32768) >>> 16) << 16
+				| ((Math.min((color >> 8) & 0xFF, a) * reciprocal + 32768) >>> 16) << 8
+				| (Math.min(color & 0xFF, a) * reciprocal + 32768) >>> 16;
+	}
+
+	/**
+	 * Premultiplies {@code len} colors.
+	 *
+	 * @param colors ARGB colors
+	 * @param off    first color
+	 * @param len    number of colors
+	 * @param out    receives the premultiplied colors, may be {@code colors}
+	 * @param outOff first index to write
+	 */
+	public static void premultiply(@NotNull int[] colors, int off, int len, @NotNull int[] out, int outOff) {
+		Utils.checkRange(colors.length, off, len);
+		Utils.checkRange(out.length, outOff, len);
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = premultiply(colors[off + i]);
+		}
+	}
+
+	/**
+	 * Unpremultiplies {@code len} colors.
+	 *
+	 * @param colors premultiplied ARGB colors
+	 * @param off    first color
+	 * @param len    number of colors
+	 * @param out    receives the ARGB colors, may be {@code colors}
+	 * @param outOff first index to write
+	 */
+	public static void unpremultiply(@NotNull int[] colors, int off, int len, @NotNull int[] out, int outOff) {
+		Utils.checkRange(colors.length, off, len);
+		Utils.checkRange(out.length, outOff, len);
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = unpremultiply(colors[off + i]);
+		}
+	}
+
+	/**
+	 * Scales all four components, e.g. to apply a layer opacity.
+	 *
+	 * @param color   premultiplied ARGB color
+	 * @param opacity [0..255]
+	 * @return premultiplied ARGB color
+	 */
+	public static int scale(int color, int opacity) {
+		return div255((color >>> 24) * opacity) << 24
+				| div255(((color >> 16) & 0xFF) * opacity) << 16
+				| div255(((color >> 8) & 0xFF) * opacity) << 8
+				| div255((color & 0xFF) * opacity);
+	}
+
+	/**
+	 * Interpolates two premultiplied colors. Unlike {@link Utils#blendARGB(int, int, float)}
+	 * on straight colors, the color of a transparent end does not bleed into the result.
+	 *
+	 * @param color1 premultiplied ARGB color
+	 * @param color2 premultiplied ARGB color
+	 * @param ratio  0 gives {@code color1}, 1 gives {@code color2}
+	 * @return premultiplied ARGB color
+	 */
+	public static int blend(int color1, int color2, float ratio) {
+		final int w = Utils.constrain(Math.round(ratio * 255), 0, 255);
+		return lerp(color1, color2, w);
+	}
+
+	/**
+	 * @param w weight of {@code color2} [0..255]
+	 */
+	static int lerp(int color1, int color2, int w) {
+		final int v = 255 - w;
+		return div255((color1 >>> 24) * v + (color2 >>> 24) * w) << 24
+				| div255(((color1 >> 16) & 0xFF) * v + ((color2 >> 16) & 0xFF) * w) << 16
+				| div255(((color1 >> 8) & 0xFF) * v + ((color2 >> 8) & 0xFF) * w) << 8
+				| div255((color1 & 0xFF) * v + (color2 & 0xFF) * w);
+	}
+
+	/**
+	 * Composites {@code foreground} over {@code background}, both premultiplied, without
+	 * any division.
+	 *
+	 * @return premultiplied ARGB color
+	 */
+	public static int compositeColors(int foreground, int background) {
+		final int inverse = 255 - (foreground >>> 24);
+		if (inverse == 0) return foreground;
+		return ((foreground >>> 24) + div255((background >>> 24) * inverse)) << 24
+				| Math.min(255, ((foreground >> 16) & 0xFF) + div255(((background >> 16) & 0xFF) * inverse)) << 16
+				| Math.min(255, ((foreground >> 8) & 0xFF) + div255(((background >> 8) & 0xFF) * inverse)) << 8
+				| Math.min(255, (foreground & 0xFF) + div255((background & 0xFF) * inverse));
+	}
+}
@@ -0,0 +1,417 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Color quantization: reduces packed ARGB pixels to a {@link Palette} of k colors.
+ * <p>
+ * The pixels are first binned into a {@link ColorHistogram} of 5 bits per channel, in
+ * parallel, and every non-empty bin becomes one point in CIE LAB at the mean color of its
+ * pixels, weighted by its pixel count. Median cut or k-means then runs on those at most
+ * 32768 points, so its cost does not grow with the image size. Fully transparent pixels are ignored.
+ * <p>
+ * A histogram fed row by row can be quantized directly, without ever holding the image.
+ *
+ * @author Elex
+ */
+public final class Quantizer {
+	/**
+	 * Default upper bound of k-means iterations
+	 */
+	public static final int DEFAULT_MAX_ITERATIONS = 16;
+	/**
+	 * Default k-means convergence threshold: the largest movement of a centroid, in ΔE*<sub>ab</sub>
+	 */
+	public static final float DEFAULT_TOLERANCE = 0.1f;
+
+	private static final int CHUNK = 1 << 16;
+	/**
+	 * Points per task of the parallel k-means assignment
+	 */
+	private static final int ASSIGN_BLOCK = 2048;
+	private static final long SEED = 0x5DEECE66DL;
+
+	private Quantizer() {
+	}
+
+	/**
+	 * Median cut in LAB: repeatedly splits the box with the largest squared error along its
+	 * longest axis. The cut is placed where the squared error of the two halves is smallest
+	 * rather than at the median, so clusters are kept whole.
+	 *
+	 * @param argb packed ARGB pixels
+	 * @param off  first pixel
+	 * @param len  number of pixels
+	 * @param k    maximum number of colors
+	 * @return at most {@code k} colors
+	 */
+	public static Palette medianCut(@NotNull int[] argb, int off, int len, int k) {
+		checkArguments(argb.length, off, len, k);
+		return medianCut(histogram(argb, off, len), k);
+	}
+
+	/**
+	 * Median cut over the bins of a histogram.
+	 *
+	 * @param histogram pixels collected so far
+	 * @param k         maximum number of colors
+	 * @return at most {@code k} colors
+	 * @see #medianCut(int[], int, int, int)
+	 */
+	public static Palette medianCut(@NotNull ColorHistogram histogram, int k) {
+		checkArguments(0, 0, 0, k);
+		final Points points = points(histogram);
+		final int n = points.size;
+		final int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		final long[] keys = new long[n];
+		final int[] lo = new int[k], hi = new int[k];
+		final double[] error = new double[k];
+		int boxes = n == 0 ? 0 : 1;
+		hi[0] = n;
+		error[0] = squaredError(points, order, 0, n);
+		while (boxes < k) {
+			int box = -1;
+			for (int i = 0; i < boxes; i++) {
+				if (hi[i] - lo[i] > 1 && error[i] > 0 && (box < 0 || error[i] > error[box])) box = i;
+			}
+			if (box < 0) break;
+
+			final int axis = longestAxis(points, order, lo[box], hi[box]);
+			sort(points, order, lo[box], hi[box], axis, keys);
+			final int mid = bestSplit(points, order, lo[box], hi[box]);
+			lo[boxes] = mid;
+			hi[boxes] = hi[box];
+			hi[box] = mid;
+			error[box] = squaredError(points, order, lo[box], hi[box]);
+			error[boxes] = squaredError(points, order, lo[boxes], hi[boxes]);
+			boxes++;
+		}
+
+		final int[] colors = new int[boxes];
+		final int[] counts = new int[boxes];
+		final float[] mean = new float[3];
+		for (int i = 0; i < boxes; i++) {
+			counts[i] = mean(points, order, lo[i], hi[i], mean);
+			colors[i] = Conversions.labToRgb(mean[0], mean[1], mean[2]);
+		}
+		return Palette.byCount(colors, counts);
+	}
+
+	/**
+	 * k-means in LAB with k-means++ seeding, {@link #DEFAULT_MAX_ITERATIONS} and
+	 * {@link #DEFAULT_TOLERANCE}.
+	 *
+	 * @param argb packed ARGB pixels
+	 * @param off  first pixel
+	 * @param len  number of pixels
+	 * @param k    maximum number of colors
+	 * @return at most {@code k} colors
+	 */
+	public static Palette kMeans(@NotNull int[] argb, int off, int len, int k) {
+		return kMeans(argb, off, len, k, DEFAULT_MAX_ITERATIONS, DEFAULT_TOLERANCE);
+	}
+
+	/**
+	 * k-means in LAB with k-means++ seeding. The seeding is deterministic, so the same
+	 * pixels always give the same palette.
+	 *
+	 * @param argb          packed ARGB pixels
+	 * @param off           first pixel
+	 * @param len           number of pixels
+	 * @param k             maximum number of colors
+	 * @param maxIterations upper bound of assignment and update steps
+	 * @param tolerance     stops once no centroid moves farther than this, in ΔE*<sub>ab</sub>
+	 * @return at most {@code k} colors
+	 */
+	public static Palette kMeans(@NotNull int[] argb, int off, int len, int k,
+	                             int maxIterations, float tolerance) {
+		checkArguments(argb.length, off, len, k);
+		return kMeans(histogram(argb, off, len), k, maxIterations, tolerance);
+	}
+
+	/**
+	 * k-means over the bins of a histogram.
+	 *
+	 * @param histogram     pixels collected so far
+	 * @param k             maximum number of colors
+	 * @param maxIterations upper bound of assignment and update steps
+	 * @param tolerance     stops once no centroid moves farther than this, in ΔE*<sub>ab</sub>
+	 * @return at most {@code k} colors
+	 * @see #kMeans(int[], int, int, int, int, float)
+	 */
+	public static Palette kMeans(@NotNull ColorHistogram histogram, int k, int maxIterations, float tolerance) {
+		checkArguments(0, 0, 0, k);
+		if (maxIterations < 0) {
+			throw new IllegalArgumentException("maxIterations must not be negative.");
+		}
+		final Points points = points(histogram);
+		final int n = points.size;
+		final float[] lab = points.lab;
+		final int[] weight = points.weight;
+		k = Math.min(k, n);
+
+		final float[] centers = seed(points, k);
+		final int[] assignment = new int[n];
+		final double[] sums = new double[k * 3];
+		final long[] counts = new long[k];
+		for (int iteration = 0; iteration < maxIterations; iteration++) {
+			final int kk = k;
+			IntStream.range(0, (n + ASSIGN_BLOCK - 1) / ASSIGN_BLOCK).parallel().forEach(block -> {
+				for (int i = block * ASSIGN_BLOCK, end = Math.min(n, i + ASSIGN_BLOCK); i < end; i++) {
+					assignment[i] = nearest(centers, kk, lab, i * 3);
+				}
+			});
+
+			Arrays.fill(sums, 0);
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < n; i++) {
+				final int c = assignment[i];
+				final int w = weight[i];
+				sums[c * 3] += (double) lab[i * 3] * w;
+				sums[c * 3 + 1] += (double) lab[i * 3 + 1] * w;
+				sums[c * 3 + 2] += (double) lab[i * 3 + 2] * w;
+				counts[c] += w;
+			}
+			float shift = 0;
+			for (int c = 0; c < k; c++) {
+				if (counts[c] == 0) continue;
+				final float L = (float) (sums[c * 3] / counts[c]);
+				final float a = (float) (sums[c * 3 + 1] / counts[c]);
+				final float b = (float) (sums[c * 3 + 2] / counts[c]);
+				shift = Math.max(shift, DeltaE.cie76(L, a, b, centers[c * 3], centers[c * 3 + 1], centers[c * 3 + 2]));
+				centers[c * 3] = L;
+				centers[c * 3 + 1] = a;
+				centers[c * 3 + 2] = b;
+			}
+			if (shift <= tolerance) break;
+		}
+
+		// Final counts follow the final centers
+		final int[] sizes = new int[k];
+		for (int i = 0; i < n; i++) {
+			sizes[nearest(centers, k, lab, i * 3)] += weight[i];
+		}
+		int m = 0;
+		final int[] colors = new int[k];
+		for (int c = 0; c < k; c++) {
+			if (sizes[c] == 0) continue;
+			colors[m] = Conversions.labToRgb(centers[c * 3], centers[c * 3 + 1], centers[c * 3 + 2]);
+			sizes[m++] = sizes[c];
+		}
+		return Palette.byCount(Arrays.copyOf(colors, m), Arrays.copyOf(sizes, m));
+	}
+
+	/**
+	 * k-means++: every next center is drawn with a probability proportional to the
+	 * weighted squared distance to the closest center so far.
+	 */
+	private static float[] seed(Points points, int k) {
+		final int n = points.size;
+		final float[] lab = points.lab;
+		final float[] centers = new float[k * 3];
+		if (k == 0) return centers;
+		final Random random = new Random(SEED);
+		final double[] distance = new double[n];
+		Arrays.fill(distance, 1);
+		for (int c = 0; c < k; c++) {
+			double total = 0;
+			for (int i = 0; i < n; i++) {
+				total += distance[i] * points.weight[i];
+			}
+			double target = random.nextDouble() * total;
+			int pick = n - 1;
+			for (int i = 0; i < n; i++) {
+				target -= distance[i] * points.weight[i];
+				if (target < 0) {
+					pick = i;
+					break;
+				}
+			}
+			System.arraycopy(lab, pick * 3, centers, c * 3, 3);
+			for (int i = 0; i < n; i++) {
+				distance[i] = Math.min(c == 0 ? Double.MAX_VALUE : distance[i],
+						squaredDistance(lab, i * 3, centers, c * 3));
+			}
+		}
+		return centers;
+	}
+
+	private static int nearest(float[] centers, int k, float[] lab, int p) {
+		int best = 0;
+		float bestDistance = Float.MAX_VALUE;
+		for (int c = 0; c < k; c++) {
+			final float d = squaredDistance(lab, p, centers, c * 3);
+			if (d < bestDistance) {
+				bestDistance = d;
+				best = c;
+			}
+		}
+		return best;
+	}
+
+	private static float squaredDistance(float[] x, int i, float[] y, int j) {
+		final float dL = x[i] - y[j], da = x[i + 1] - y[j + 1], db = x[i + 2] - y[j + 2];
+		return dL * dL + da * da + db * db;
+	}
+
+	/**
+	 * Writes the weighted mean of a box.
+	 *
+	 * @return total weight of the box
+	 */
+	private static int mean(Points points, int[] order, int lo, int hi, float[] out) {
+		double L = 0, a = 0, b = 0;
+		long total = 0;
+		for (int i = lo; i < hi; i++) {
+			final int p = order[i];
+			final int w = points.weight[p];
+			L += (double) points.lab[p * 3] * w;
+			a += (double) points.lab[p * 3 + 1] * w;
+			b += (double) points.lab[p * 3 + 2] * w;
+			total += w;
+		}
+		out[0] = (float) (L / total);
+		out[1] = (float) (a / total);
+		out[2] = (float) (b / total);
+		return (int) total;
+	}
+
+	private static double squaredError(Points points, int[] order, int lo, int hi) {
+		if (hi - lo < 2) return 0;
+		final float[] mean = new float[3];
+		mean(points, order, lo, hi, mean);
+		double error = 0;
+		for (int i = lo; i < hi; i++) {
+			final int p = order[i];
+			error += (double) squaredDistance(points.lab, p * 3, mean, 0) * points.weight[p];
+		}
+		return error;
+	}
+
+	private static int longestAxis(Points points, int[] order, int lo, int hi) {
+		final float[] min = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+		final float[] max = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+		for (int i = lo; i < hi; i++) {
+			for (int axis = 0; axis < 3; axis++) {
+				final float v = points.lab[order[i] * 3 + axis];
+				min[axis] = Math.min(min[axis], v);
+				max[axis] = Math.max(max[axis], v);
+			}
+		}
+		int longest = 0;
+		for (int axis = 1; axis < 3; axis++) {
+			if (max[axis] - min[axis] > max[longest] - min[longest]) longest = axis;
+		}
+		return longest;
+	}
+
+	/**
+	 * Sorts {@code order[lo..hi)} by one LAB component, through keys that pack the
+	 * component's order-preserving bits above the point index.
+	 */
+	private static void sort(Points points, int[] order, int lo, int hi, int axis, long[] keys) {
+		for (int i = lo; i < hi; i++) {
+			final int bits = Float.floatToIntBits(points.lab[order[i] * 3 + axis]);
+			keys[i] = ((long) (bits ^ ((bits >> 31) & 0x7FFFFFFF)) << 32) | order[i];
+		}
+		Arrays.sort(keys, lo, hi);
+		for (int i = lo; i < hi; i++) {
+			order[i] = (int) keys[i];
+		}
+	}
+
+	/**
+	 * Finds the split of a sorted box that minimizes the summed squared error of both
+	 * halves, from prefix sums of the weights, components and squared norms.
+	 *
+	 * @return split index in {@code (lo, hi)}
+	 */
+	private static int bestSplit(Points points, int[] order, int lo, int hi) {
+		double W = 0, L = 0, a = 0, b = 0, Q = 0;
+		for (int i = lo; i < hi; i++) {
+			final int p = order[i];
+			final double w = points.weight[p];
+			final double pL = points.lab[p * 3], pa = points.lab[p * 3 + 1], pb = points.lab[p * 3 + 2];
+			W += w;
+			L += w * pL;
+			a += w * pa;
+			b += w * pb;
+			Q += w * (pL * pL + pa * pa + pb * pb);
+		}
+		double wl = 0, Ll = 0, al = 0, bl = 0, ql = 0;
+		double bestError = Double.MAX_VALUE;
+		int best = lo + 1;
+		for (int i = lo; i < hi - 1; i++) {
+			final int p = order[i];
+			final double w = points.weight[p];
+			final double pL = points.lab[p * 3], pa = points.lab[p * 3 + 1], pb = points.lab[p * 3 + 2];
+			wl += w;
+			Ll += w * pL;
+			al += w * pa;
+			bl += w * pb;
+			ql += w * (pL * pL + pa * pa + pb * pb);
+			final double wr = W - wl, Lr = L - Ll, ar = a - al, br = b - bl;
+			final double error = ql - (Ll * Ll + al * al + bl * bl) / wl
+					+ (Q - ql) - (Lr * Lr + ar * ar + br * br) / wr;
+			if (error < bestError) {
+				bestError = error;
+				best = i + 1;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Bins the pixels in parallel.
+	 */
+	private static ColorHistogram histogram(int[] argb, int off, int len) {
+		return IntStream.range(0, (len + CHUNK - 1) / CHUNK).parallel()
+				.collect(ColorHistogram::new,
+						(h, chunk) -> h.add(argb, off + chunk * CHUNK, Math.min(CHUNK, len - chunk * CHUNK)),
+						ColorHistogram::merge);
+	}
+
+	/**
+	 * Converts every non-empty bin to a LAB point weighted by its pixel count.
+	 */
+	private static Points points(ColorHistogram histogram) {
+		final Points points = new Points();
+		final int n = histogram.occupied();
+		final int[] colors = new int[n];
+		points.size = n;
+		points.lab = new float[n * 3];
+		points.weight = new int[n];
+		histogram.bins(colors, points.weight);
+		for (int i = 0; i < n; i++) {
+			Conversions.rgbToLab(colors[i], points.lab, i * 3);
+		}
+		return points;
+	}
+
+	private static void checkArguments(int length, int off, int len, int k) {
+		Utils.checkRange(length, off, len);
+		if (k < 1) {
+			throw new IllegalArgumentException("k must be positive.");
+		}
+	}
+
+	private static final class Points {
+		int size;
+		float[] lab;
+		int[] weight;
+	}
+}
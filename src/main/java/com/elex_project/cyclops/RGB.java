@@ -25,7 +25,7 @@ import static com.elex_project.cyclops.Utils.*;
 @Setter
 @EqualsAndHashCode
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class RGB implements Color {
+public final class RGB implements Color {
 	private int color;
 
 	public static RGB of(int a, int r, int g, int b) {
@@ -44,6 +44,22 @@ public class RGB implements Color {
 		return new RGB(color);
 	}
 
+	/**
+	 * @param color premultiplied ARGB color
+	 * @see Premultiplied
+	 */
+	public static RGB ofPremultiplied(int color) {
+		return new RGB(Premultiplied.unpremultiply(color));
+	}
+
+	/**
+	 * @return the color as premultiplied ARGB
+	 * @see Premultiplied
+	 */
+	public int toPremultiplied() {
+		return Premultiplied.premultiply(color);
+	}
+
 	public String toHexString() {
 		return Integer.toHexString(color);
 	}
@@ -85,7 +101,7 @@ public class RGB implements Color {
 	 */
 	public double luminance() {
 		// Luminance is the Y component
-		return toXYZ().getY() / 100;
+		return Conversions.rgbToY(color) / 100;
 	}
 
 	public void blend(RGB c2, float ratio) {
@@ -109,91 +125,28 @@ public class RGB implements Color {
 	 */
 	@Override
 	public HSL toHSL() {
-
-		float var_R = (red() / 255f);                     //RGB from 0 to 255
-		float var_G = (green() / 255f);
-		float var_B = (blue() / 255f);
-
-		float var_Min = min(var_R, var_G, var_B);    //Min. value of RGB
-		float var_Max = max(var_R, var_G, var_B);    //Max. value of RGB
-		float del_Max = var_Max - var_Min;            //Delta RGB value
-
-		float L = (var_Max + var_Min) / 2f;
-
-		float H = 0, S = 0;
-		if (del_Max == 0) {                    //This is a gray, no chroma...
-			H = 0;                                //HSL results from 0 to 1
-			S = 0;
-		} else {                                   //Chromatic data...
-			if (L < 0.5) {
-				S = del_Max / (var_Max + var_Min);
-			} else {
-				S = del_Max / (2 - var_Max - var_Min);
-			}
-
-			float del_R = (((var_Max - var_R) / 6f) + (del_Max / 2f)) / del_Max;
-			float del_G = (((var_Max - var_G) / 6f) + (del_Max / 2f)) / del_Max;
-			float del_B = (((var_Max - var_B) / 6f) + (del_Max / 2f)) / del_Max;
-
-			if (var_R == var_Max) {
-				H = del_B - del_G;
-			} else if (var_G == var_Max) {
-				H = (1 / 3f) + del_R - del_B;
-			} else if (var_B == var_Max) {
-				H = (2 / 3f) + del_G - del_R;
-			}
-
-			if (H < 0) H += 1;
-			if (H > 1) H -= 1;
-		}
-		return HSL.of(H, S, L);
+		return Conversions.rgbToHsl(color);
 	}
 
 	@Override
 	public HSV toHSV() {
-
-		float var_R = (red() / 255f);                 //RGB from 0 to 255
-		float var_G = (green() / 255f);
-		float var_B = (blue() / 255f);
-
-		float var_Min = min(var_R, var_G, var_B);   //Min. value of RGB
-		float var_Max = max(var_R, var_G, var_B);    //Max. value of RGB
-		float del_Max = var_Max - var_Min;          //Delta RGB value
-
-		float V = var_Max;
-		float H = 0, S = 0;
-		if (del_Max == 0) {                     //This is a gray, no chroma...
-			H = 0;                                //HSV results from 0 to 1
-			S = 0;
-		} else {                                  //Chromatic data...
-			S = del_Max / var_Max;
-
-			float del_R = (((var_Max - var_R) / 6) + (del_Max / 2)) / del_Max;
-			float del_G = (((var_Max - var_G) / 6) + (del_Max / 2)) / del_Max;
-			float del_B = (((var_Max - var_B) / 6) + (del_Max / 2)) / del_Max;
-
-			if (var_R == var_Max) {
-				H = del_B - del_G;
-			} else if (var_G == var_Max) {
-				H = (1 / 3f) + del_R - del_B;
-			} else if (var_B == var_Max) {
-				H = (2 / 3f) + del_G - del_R;
-			}
-
-			if (H < 0) H += 1;
-			if (H > 1) H -= 1;
-		}
-		// H를 360으로	// 0~360, 0~1, 0~1
-		//H *=360;
-		return HSV.of(H, S, V);
+		return Conversions.rgbToHsv(color);
 	}
 
 	/**
 	 * Convert the ARGB color to its CIE LAB representative components.
+	 * <p>Reads the precomputed {@link LabTable} when it is enabled, or else the
+	 * {@link ConversionCache} when it is enabled.</p>
 	 */
 	@Override
 	public LAB toLAB() {
-		return toXYZ().toLAB();
+		final ConversionCache cache;
+		if (LabTable.isEnabled()) {
+			return LabTable.get().lookup(color);
+		} else if ((cache = ConversionCache.get(ConversionCache.Target.LAB)) != null) {
+			return (LAB) cache.lookup(color);
+		}
+		return Conversions.rgbToLab(color);
 	}
 
 	@Override
@@ -216,45 +169,12 @@ public class RGB implements Color {
 	 */
 	@Override
 	public XYZ toXYZ() {
-		float var_R = (red() / 255f);        //R from 0 to 255
-		float var_G = (green() / 255f);        //G from 0 to 255
-		float var_B = (blue() / 255f);        //B from 0 to 255
-
-		if (var_R > 0.04045)
-			var_R = (float) Math.pow((var_R + 0.055) / 1.055, 2.4);
-		else
-			var_R = var_R / 12.92f;
-		if (var_G > 0.04045)
-			var_G = (float) Math.pow((var_G + 0.055) / 1.055, 2.4);
-		else
-			var_G = var_G / 12.92f;
-		if (var_B > 0.04045)
-			var_B = (float) Math.pow((var_B + 0.055) / 1.055, 2.4);
-		else
-			var_B = var_B / 12.92f;
-
-		var_R = var_R * 100;
-		var_G = var_G * 100;
-		var_B = var_B * 100;
-
-		//Observer. = 2°, Illuminant = D65
-		float X = (float) (var_R * 0.4124 + var_G * 0.3576 + var_B * 0.1805);
-		float Y = (float) (var_R * 0.2126 + var_G * 0.7152 + var_B * 0.0722);
-		float Z = (float) (var_R * 0.0193 + var_G * 0.1192 + var_B * 0.9505);
-
-		return XYZ.of(X, Y, Z);
+		return Conversions.rgbToXyz(color);
 	}
 
 	@Override
 	public CMY toCMY() {
-		float R = red();
-		float G = green();
-		float B = blue();
-
-		float C = 1 - (R / 255);
-		float M = 1 - (G / 255);
-		float Y = 1 - (B / 255);
-		return CMY.of(C, M, Y);
+		return Conversions.rgbToCmy(color);
 	}
 
 	@Override
@@ -262,14 +182,22 @@ public class RGB implements Color {
 		return toXYZ().toHunterLAB();
 	}
 
+	/**
+	 * Convert the ARGB color to its CIE LCh° representative components.
+	 * <p>Reads the {@link ConversionCache} when it is enabled.</p>
+	 */
 	@Override
 	public LCH toLCH() {
-		return toLAB().toLCH();
+		final ConversionCache cache = ConversionCache.get(ConversionCache.Target.LCH);
+		if (cache != null) {
+			return (LCH) cache.lookup(color);
+		}
+		return Conversions.rgbToLch(color);
 	}
 
 	@Override
 	public LUV toLUV() {
-		return toXYZ().toLUV();
+		return Conversions.rgbToLuv(color);
 	}
 
 	@Override
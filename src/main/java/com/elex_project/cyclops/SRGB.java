@@ -0,0 +1,139 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+/**
+ * sRGB transfer function.
+ * <p>
+ * An 8-bit component can only take 256 values, so decoding to linear light is a table
+ * lookup instead of a {@code Math.pow} per channel.
+ * <p>
+ * Encoding back to 8 bits has an exact path ({@code Math.pow} per channel) and a fast
+ * path. The fast path looks up a 4096-bucket table and corrects the guess against the
+ * exact rounding thresholds, so for every linear value in [0..1] it returns the same
+ * component as the exact path, well inside the ±0.5 LSB error of any 8-bit encoder.
+ * Both paths clamp out of gamut values to [0..255].
+ *
+ * @author Elex
+ */
+public final class SRGB {
+	/**
+	 * Linear value [0..1] of each 8-bit sRGB component value.
+	 */
+	static final float[] LINEAR = new float[256];
+
+	private static final int ENCODE_BUCKETS = 4096;
+	/**
+	 * Smallest linear value which encodes to each 8-bit component, plus a sentinel.
+	 */
+	private static final float[] ENCODE_THRESHOLD = new float[257];
+	/**
+	 * Encoded component at the start of each bucket.
+	 */
+	private static final byte[] ENCODE_START = new byte[ENCODE_BUCKETS];
+
+	private static volatile boolean fastEncoding = false;
+
+	static {
+		for (int i = 0; i < 256; i++) {
+			float v = i / 255f;
+			if (v > 0.04045)
+				LINEAR[i] = (float) Math.pow((v + 0.055) / 1.055, 2.4);
+			else
+				LINEAR[i] = v / 12.92f;
+		}
+
+		// Binary search over the float bits of [0..1] for each rounding threshold
+		final int one = Float.floatToIntBits(1f);
+		ENCODE_THRESHOLD[0] = Float.NEGATIVE_INFINITY;
+		for (int k = 1; k < 256; k++) {
+			int lo = 0, hi = one;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (encode8(Float.intBitsToFloat(mid)) >= k) {
+					hi = mid;
+				} else {
+					lo = mid + 1;
+				}
+			}
+			ENCODE_THRESHOLD[k] = Float.intBitsToFloat(lo);
+		}
+		ENCODE_THRESHOLD[256] = Float.POSITIVE_INFINITY;
+
+		int k = 0;
+		for (int i = 0; i < ENCODE_BUCKETS; i++) {
+			float v = i / (float) ENCODE_BUCKETS;
+			while (v >= ENCODE_THRESHOLD[k + 1]) k++;
+			ENCODE_START[i] = (byte) k;
+		}
+	}
+
+	private SRGB() {
+	}
+
+	/**
+	 * Decodes an 8-bit sRGB component to linear light.
+	 *
+	 * @param component [0..255]
+	 * @return linear value [0..1]
+	 */
+	public static float toLinear(int component) {
+		return LINEAR[component & 0xFF];
+	}
+
+	/**
+	 * Encodes a linear value to sRGB with the exact transfer function.
+	 *
+	 * @param linear linear value [0..1]
+	 * @return encoded value [0..1]
+	 */
+	public static float fromLinear(float linear) {
+		if (linear > 0.0031308) {
+			return (float) (1.055f * Math.pow(linear, 1 / 2.4f) - 0.055f);
+		} else {
+			return 12.92f * linear;
+		}
+	}
+
+	/**
+	 * Encodes a linear value to an 8-bit sRGB component with the exact transfer function.
+	 * Out of gamut values are clamped to [0..255].
+	 */
+	static int encode8(float linear) {
+		return Utils.constrain(Math.round(fromLinear(linear) * 255), 0, 255);
+	}
+
+	/**
+	 * Encodes a linear value to an 8-bit sRGB component with the lookup table.
+	 *
+	 * @param linear linear value [0..1], values out of range are clamped
+	 * @return component [0..255], equal to {@code Math.round(fromLinear(linear) * 255)}
+	 * inside the range
+	 */
+	public static int fromLinear8(float linear) {
+		if (!(linear > 0)) return 0;
+		if (linear >= 1) return 255;
+		int k = ENCODE_START[(int) (linear * ENCODE_BUCKETS)] & 0xFF;
+		while (linear >= ENCODE_THRESHOLD[k + 1]) k++;
+		return k;
+	}
+
+	/**
+	 * Selects the encoder used by every {@code toRGB()} conversion.
+	 * The exact path is the default.
+	 *
+	 * @param fast true to use {@link #fromLinear8(float)}
+	 */
+	public static void setFastEncoding(boolean fast) {
+		fastEncoding = fast;
+	}
+
+	public static boolean isFastEncoding() {
+		return fastEncoding;
+	}
+}
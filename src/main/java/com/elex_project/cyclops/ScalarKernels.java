@@ -0,0 +1,44 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+/**
+ * Plain loops over the per-color kernels, the reference for every {@link Kernels} implementation.
+ *
+ * @author Elex
+ */
+final class ScalarKernels {
+	private ScalarKernels() {
+	}
+
+	static void rgbToXyz(int[] argb, int off, int len, float[] out, int outOff) {
+		for (int i = off, o = outOff, end = off + len; i < end; i++, o += 3) {
+			Conversions.rgbToXyz(argb[i], out, o);
+		}
+	}
+
+	static void rgbToLab(int[] argb, int off, int len, float[] out, int outOff) {
+		for (int i = off, o = outOff, end = off + len; i < end; i++, o += 3) {
+			Conversions.rgbToLab(argb[i], out, o);
+		}
+	}
+
+	static void blend(int[] colors1, int off1, int[] colors2, int off2, int len, float ratio,
+	                  int[] out, int outOff) {
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = Utils.blendARGB(colors1[off1 + i], colors2[off2 + i], ratio);
+		}
+	}
+
+	static void composite(int[] foreground, int fgOff, int[] background, int bgOff, int len,
+	                      int[] out, int outOff) {
+		for (int i = 0; i < len; i++) {
+			out[outOff + i] = Utils.compositeColors(foreground[fgOff + i], background[bgOff + i]);
+		}
+	}
+}
@@ -18,11 +18,32 @@ public class Utils {
 
 	/**
 	 * Returns the euclidean distance between two LAB colors.
+	 *
+	 * @see DeltaE
 	 */
 	public static double distanceEuclidean(@NotNull double[] labX, @NotNull double[] labY) {
-		return Math.sqrt(Math.pow(labX[0] - labY[0], 2)
-				+ Math.pow(labX[1] - labY[1], 2)
-				+ Math.pow(labX[2] - labY[2], 2));
+		final double dL = labX[0] - labY[0], da = labX[1] - labY[1], db = labX[2] - labY[2];
+		return Math.sqrt(dL * dL + da * da + db * db);
+	}
+
+	/**
+	 * Cube root of a float.
+	 * <p>
+	 * The exponent bits divided by 3 give a seed within a few percent, which two Halley
+	 * iterations in double precision refine to the correctly rounded float of
+	 * {@link Math#cbrt(double)} for normal positive input. Other input falls back to
+	 * {@link Math#cbrt(double)}.
+	 */
+	static float cbrt(float x) {
+		if (!(x >= Float.MIN_NORMAL) || x == Float.POSITIVE_INFINITY) {
+			return (float) Math.cbrt(x);
+		}
+		double y = Float.intBitsToFloat(Float.floatToRawIntBits(x) / 3 + 0x2a514067);
+		double y3 = y * y * y;
+		y = y * (y3 + 2 * x) / (2 * y3 + x);
+		y3 = y * y * y;
+		y = y * (y3 + 2 * x) / (2 * y3 + x);
+		return (float) y;
 	}
 
 	static float constrain(float amount, float low, float high) {
@@ -33,6 +54,18 @@ public class Utils {
 		return amount < low ? low : (amount > high ? high : amount);
 	}
 
+	/**
+	 * Checks that {@code [off, off+len)} lies within an array of {@code length}.
+	 *
+	 * @throws IllegalArgumentException if it does not
+	 */
+	static void checkRange(int length, int off, int len) {
+		if (off < 0 || len < 0 || off > length - len) {
+			throw new IllegalArgumentException("Range [" + off + ", " + off + "+" + len
+					+ ") is out of bounds for length " + length);
+		}
+	}
+
 	static float circularInterpolate(float a, float b, float f) {
 		if (Math.abs(b - a) > 180) {
 			if (b > a) {
@@ -44,22 +77,6 @@ public class Utils {
 		return (a + ((b - a) * f)) % 360;
 	}
 
-	static float min(float... args) {
-		float min = args[0];
-		for (float val : args) {
-			if (val < min) min = val;
-		}
-		return min;
-	}
-
-	static float max(float... args) {
-		float max = args[0];
-		for (float val : args) {
-			if (val > max) max = val;
-		}
-		return max;
-	}
-
 	public static int alpha(int color) {
 		return color >> 24 & 0xFF;
 	}
@@ -132,33 +149,17 @@ public class Utils {
 		return ((0xFF * fgC * fgA) + (bgC * bgA * (0xFF - fgA))) / (a * 0xFF);
 	}
 
-	private static double calculateLuminance(int color) {
-		//return colorToXYZ(color).y() / 100;
-		return RGB.of(color).luminance();
-	}
-
 	/**
 	 * Returns the contrast ratio between {@code foreground} and {@code background}.
 	 * {@code background} must be opaque.
 	 * <p>
 	 * Formula defined
 	 * <a href="http://www.w3.org/TR/2008/REC-WCAG20-20081211/#contrast-ratiodef">here</a>.
+	 *
+	 * @see Contrast
 	 */
 	public static double calculateContrast(int foreground, int background) {
-		if (alpha(background) != 255) {
-			throw new IllegalArgumentException("background can not be translucent: #"
-					+ Integer.toHexString(background));
-		}
-		if (alpha(foreground) < 255) {
-			// If the foreground is translucent, composite the foreground over the background
-			foreground = compositeColors(foreground, background);
-		}
-
-		final double luminance1 = calculateLuminance(foreground) + 0.05;
-		final double luminance2 = calculateLuminance(background) + 0.05;
-
-		// Now return the lighter luminance divided by the darker luminance
-		return Math.max(luminance1, luminance2) / Math.min(luminance1, luminance2);
+		return Contrast.contrast(foreground, background);
 	}
 
 	/**
@@ -170,6 +171,7 @@ public class Utils {
 	 * @param background       the background color, opacity will be ignored
 	 * @param minContrastRatio the minimum contrast ratio
 	 * @return the alpha value in the range 0-255, or -1 if no value could be calculated
+	 * @see Contrast#minimumBackgroundAlpha(int, int, float)
 	 */
 	public static int calculateMinimumBackgroundAlpha(int foreground, int background, float minContrastRatio) {
 		// Ignore initial alpha that the background might have since this is
@@ -194,6 +196,7 @@ public class Utils {
 	 * @param background       the opaque background color
 	 * @param minContrastRatio the minimum contrast ratio
 	 * @return the alpha value in the range 0-255, or -1 if no value could be calculated
+	 * @see Contrast#minimumAlpha(int, int, float)
 	 */
 	public static int calculateMinimumAlpha(int foreground, int background,
 	                                        float minContrastRatio) {
@@ -14,7 +14,7 @@ import lombok.*;
 @EqualsAndHashCode
 @ToString
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class YXY implements Color {
+public final class YXY implements Color {
 	private float Y, x, y;
 
 	public static YXY of(float Y, float x, float y) {
@@ -51,12 +51,7 @@ public class YXY implements Color {
 		//Y from 0 to 100
 		//x from 0 to 1
 		//y from 0 to 1
-
-		float X = x * (Y / y);
-		//Y = Y;
-		float Z = (1 - x - y) * (Y / y);
-
-		return XYZ.of(X, Y, Z);
+		return Conversions.yxyToXyz(Y, x, y);
 	}
 
 	@Override
@@ -0,0 +1,80 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+/**
+ * Bulk kernels behind {@link ColorConverter} and {@link Compositor}, Java 21 version.
+ * <p>
+ * Runs the {@link VectorKernels} when the {@code jdk.incubator.vector} module is in the boot
+ * layer, and the {@link ScalarKernels} otherwise. Setting the system property
+ * {@code com.elex_project.cyclops.vector} to {@code false} forces the scalar loops.
+ * Both produce bit-identical results. Ranges are checked by the callers.
+ *
+ * @author Elex
+ */
+final class Kernels {
+	private static final boolean VECTORIZED = vectorAvailable();
+
+	private Kernels() {
+	}
+
+	private static boolean vectorAvailable() {
+		if (!Boolean.parseBoolean(System.getProperty("com.elex_project.cyclops.vector", "true"))) {
+			return false;
+		}
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return false;
+		}
+		try {
+			return VectorKernels.LANES > 1;
+		} catch (LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if the kernels run on the Vector API
+	 */
+	static boolean isVectorized() {
+		return VECTORIZED;
+	}
+
+	static void rgbToXyz(int[] argb, int off, int len, float[] out, int outOff) {
+		if (VECTORIZED) {
+			VectorKernels.rgbToXyz(argb, off, len, out, outOff);
+		} else {
+			ScalarKernels.rgbToXyz(argb, off, len, out, outOff);
+		}
+	}
+
+	static void rgbToLab(int[] argb, int off, int len, float[] out, int outOff) {
+		if (VECTORIZED) {
+			VectorKernels.rgbToLab(argb, off, len, out, outOff);
+		} else {
+			ScalarKernels.rgbToLab(argb, off, len, out, outOff);
+		}
+	}
+
+	static void blend(int[] colors1, int off1, int[] colors2, int off2, int len, float ratio,
+	                  int[] out, int outOff) {
+		if (VECTORIZED) {
+			VectorKernels.blend(colors1, off1, colors2, off2, len, ratio, out, outOff);
+		} else {
+			ScalarKernels.blend(colors1, off1, colors2, off2, len, ratio, out, outOff);
+		}
+	}
+
+	static void composite(int[] foreground, int fgOff, int[] background, int bgOff, int len,
+	                      int[] out, int outOff) {
+		if (VECTORIZED) {
+			VectorKernels.composite(foreground, fgOff, background, bgOff, len, out, outOff);
+		} else {
+			ScalarKernels.composite(foreground, fgOff, background, bgOff, len, out, outOff);
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import jdk.incubator.vector.*;
+
+import static jdk.incubator.vector.VectorOperators.*;
+
+/**
+ * {@link ScalarKernels} on the Vector API.
+ * <p>
+ * Every lane performs the same IEEE operations in the same order as the scalar code,
+ * without fused multiply-add, so the results are bit-identical. Double precision steps
+ * run on the preferred double species and the matching float and int species of half the
+ * width, which have as many lanes. The remainder of a range runs on the scalar loops.
+ *
+ * @author Elex
+ */
+final class VectorKernels {
+	private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+	private static final VectorShape HALF = VectorShape.forBitSize(D.vectorBitSize() / 2);
+	private static final VectorSpecies<Float> F = VectorSpecies.of(float.class, HALF);
+	private static final VectorSpecies<Integer> I = VectorSpecies.of(int.class, HALF);
+	/**
+	 * Lanes of the LAB and XYZ kernels
+	 */
+	static final int LANES = D.length();
+
+	/**
+	 * Species of the blend kernel, which needs no double precision
+	 */
+	private static final VectorSpecies<Integer> IP = IntVector.SPECIES_PREFERRED;
+
+	/**
+	 * Largest float that is not greater than the double {@code 0.008856}, so that
+	 * {@code t > PIVOT} on floats matches {@code t > 0.008856} on doubles.
+	 */
+	private static final float PIVOT;
+
+	static {
+		final float pivot = (float) 0.008856;
+		PIVOT = pivot > 0.008856 ? Math.nextDown(pivot) : pivot;
+	}
+
+	private VectorKernels() {
+	}
+
+	static void rgbToXyz(int[] argb, int off, int len, float[] out, int outOff) {
+		final int[] index = new int[LANES * 3];
+		final float[] planar = new float[LANES * 3];
+		int i = 0;
+		for (; i <= len - LANES; i += LANES) {
+			gatherLinear(argb, off + i, index);
+			final DoubleVector r = toDouble(FloatVector.fromArray(F, SRGB.LINEAR, 0, index, 0).mul(100f));
+			final DoubleVector g = toDouble(FloatVector.fromArray(F, SRGB.LINEAR, 0, index, LANES).mul(100f));
+			final DoubleVector b = toDouble(FloatVector.fromArray(F, SRGB.LINEAR, 0, index, LANES * 2).mul(100f));
+			toFloat(r.mul(0.4124).add(g.mul(0.3576)).add(b.mul(0.1805))).intoArray(planar, 0);
+			toFloat(r.mul(0.2126).add(g.mul(0.7152)).add(b.mul(0.0722))).intoArray(planar, LANES);
+			toFloat(r.mul(0.0193).add(g.mul(0.1192)).add(b.mul(0.9505))).intoArray(planar, LANES * 2);
+			interleave(planar, out, outOff + i * 3);
+		}
+		ScalarKernels.rgbToXyz(argb, off + i, len - i, out, outOff + i * 3);
+	}
+
+	static void rgbToLab(int[] argb, int off, int len, float[] out, int outOff) {
+		final int[] index = new int[LANES * 3];
+		final float[] planar = new float[LANES * 3];
+		int i = 0;
+		for (; i <= len - LANES; i += LANES) {
+			gatherLinear(argb, off + i, index);
+			final DoubleVector r = toDouble(FloatVector.fromArray(F, SRGB.LINEAR, 0, index, 0).mul(100f));
+			final DoubleVector g = toDouble(FloatVector.fromArray(F, SRGB.LINEAR, 0, index, LANES).mul(100f));
+			final DoubleVector b = toDouble(FloatVector.fromArray(F, SRGB.LINEAR, 0, index, LANES * 2).mul(100f));
+			final FloatVector x = pivot(toFloat(r.mul(0.4124).add(g.mul(0.3576)).add(b.mul(0.1805))).div(95.047f));
+			final FloatVector y = pivot(toFloat(r.mul(0.2126).add(g.mul(0.7152)).add(b.mul(0.0722))).div(100.000f));
+			final FloatVector z = pivot(toFloat(r.mul(0.0193).add(g.mul(0.1192)).add(b.mul(0.9505))).div(108.883f));
+			y.mul(116f).sub(16f).intoArray(planar, 0);
+			x.sub(y).mul(500f).intoArray(planar, LANES);
+			y.sub(z).mul(200f).intoArray(planar, LANES * 2);
+			interleave(planar, out, outOff + i * 3);
+		}
+		ScalarKernels.rgbToLab(argb, off + i, len - i, out, outOff + i * 3);
+	}
+
+	/**
+	 * Writes the red, green and blue components of {@code LANES} pixels from {@code argb[off]}
+	 * as indices into {@link SRGB#LINEAR}, one component after the other.
+	 * The XYZ matrix of {@link Conversions#rgbToXyz} is applied by the callers, so that
+	 * no vector crosses a call boundary.
+	 */
+	private static void gatherLinear(int[] argb, int off, int[] index) {
+		final IntVector pixels = IntVector.fromArray(I, argb, off);
+		pixels.lanewise(LSHR, 16).and(0xFF).intoArray(index, 0);
+		pixels.lanewise(LSHR, 8).and(0xFF).intoArray(index, LANES);
+		pixels.and(0xFF).intoArray(index, LANES * 2);
+	}
+
+	/**
+	 * Copies {@code LANES} triples stored one component after the other to {@code out[off]},
+	 * interleaved. Plain stores beat scatters here.
+	 */
+	private static void interleave(float[] planar, float[] out, int off) {
+		for (int j = 0; j < LANES; j++, off += 3) {
+			out[off] = planar[j];
+			out[off + 1] = planar[LANES + j];
+			out[off + 2] = planar[LANES * 2 + j];
+		}
+	}
+
+	/**
+	 * LAB pivot, with the cube root of {@link Utils#cbrt(float)}: a bit-level first guess
+	 * refined by two Halley steps in double.
+	 */
+	private static FloatVector pivot(FloatVector t) {
+		final FloatVector linear = t.mul(7.787f).add(16 / 116f);
+		final VectorMask<Float> cube = t.compare(GT, PIVOT);
+		if (!cube.anyTrue()) {
+			return linear;
+		}
+		// Integer division of the positive bits by 3, exact through double
+		final DoubleVector bits = (DoubleVector) t.reinterpretAsInts().convertShape(I2D, D, 0);
+		final IntVector third = (IntVector) bits.add(0.5).div(3.0).convertShape(D2I, I, 0);
+		DoubleVector y = toDouble(third.add(0x2a514067).reinterpretAsFloats());
+		final DoubleVector x = toDouble(t);
+		final DoubleVector x2 = toDouble(t.mul(2f));
+		DoubleVector y3 = y.mul(y).mul(y);
+		y = y.mul(y3.add(x2)).div(y3.mul(2.0).add(x));
+		y3 = y.mul(y).mul(y);
+		y = y.mul(y3.add(x2)).div(y3.mul(2.0).add(x));
+		return linear.blend(toFloat(y), cube);
+	}
+
+	private static DoubleVector toDouble(FloatVector v) {
+		return (DoubleVector) v.convertShape(F2D, D, 0);
+	}
+
+	private static FloatVector toFloat(DoubleVector v) {
+		return (FloatVector) v.convertShape(D2F, F, 0);
+	}
+
+	static void blend(int[] colors1, int off1, int[] colors2, int off2, int len, float ratio,
+	                  int[] out, int outOff) {
+		final float inverseRatio = 1 - ratio;
+		final int lanes = IP.length();
+		int i = 0;
+		for (; i <= len - lanes; i += lanes) {
+			final IntVector c1 = IntVector.fromArray(IP, colors1, off1 + i);
+			final IntVector c2 = IntVector.fromArray(IP, colors2, off2 + i);
+			IntVector result = IntVector.zero(IP);
+			for (int shift = 0; shift < 32; shift += 8) {
+				final FloatVector f1 = (FloatVector) c1.lanewise(LSHR, shift).and(0xFF).convert(I2F, 0);
+				final FloatVector f2 = (FloatVector) c2.lanewise(LSHR, shift).and(0xFF).convert(I2F, 0);
+				final IntVector channel = (IntVector) f1.mul(inverseRatio).add(f2.mul(ratio)).convert(F2I, 0);
+				result = result.or(channel.lanewise(LSHL, shift));
+			}
+			result.intoArray(out, outOff + i);
+		}
+		ScalarKernels.blend(colors1, off1 + i, colors2, off2 + i, len - i, ratio, out, outOff + i);
+	}
+
+	static void composite(int[] foreground, int fgOff, int[] background, int bgOff, int len,
+	                      int[] out, int outOff) {
+		int i = 0;
+		for (; i <= len - LANES; i += LANES) {
+			final IntVector fg = IntVector.fromArray(I, foreground, fgOff + i);
+			final IntVector bg = IntVector.fromArray(I, background, bgOff + i);
+			final IntVector fgA = fg.lanewise(LSHR, 24);
+			final IntVector bgA = bg.lanewise(LSHR, 24);
+			final IntVector a = divide(bgA.neg().add(0xFF).mul(fgA.neg().add(0xFF)), 0xFF).neg().add(0xFF);
+			final VectorMask<Integer> transparent = a.compare(EQ, 0);
+			final DoubleVector denominator = toDouble(a.mul(0xFF));
+			final IntVector bgWeight = bgA.mul(fgA.neg().add(0xFF));
+			IntVector result = a.lanewise(LSHL, 24);
+			for (int shift = 0; shift < 24; shift += 8) {
+				final IntVector fgC = fg.lanewise(LSHR, shift).and(0xFF);
+				final IntVector bgC = bg.lanewise(LSHR, shift).and(0xFF);
+				final IntVector numerator = fgC.mul(fgA).mul(0xFF).add(bgC.mul(bgWeight));
+				final IntVector c = (IntVector) toDouble(numerator).div(denominator).convertShape(D2I, I, 0);
+				result = result.or(c.blend(0, transparent).lanewise(LSHL, shift));
+			}
+			result.intoArray(out, outOff + i);
+		}
+		ScalarKernels.composite(foreground, fgOff + i, background, bgOff + i, len - i, out, outOff + i);
+	}
+
+	/**
+	 * Integer division of non-negative values below 2<sup>31</sup>, exact through double.
+	 */
+	private static IntVector divide(IntVector numerator, int divisor) {
+		return (IntVector) toDouble(numerator).div(divisor).convertShape(D2I, I, 0);
+	}
+
+	private static DoubleVector toDouble(IntVector v) {
+		return (DoubleVector) v.convertShape(I2D, D, 0);
+	}
+}
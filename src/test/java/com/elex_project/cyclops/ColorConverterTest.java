@@ -0,0 +1,150 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColorConverterTest {
+	private static final int COUNT = 4096;
+
+	private static int[] randomPixels() {
+		Random random = new Random(42);
+		int[] pixels = new int[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			pixels[i] = random.nextInt();
+		}
+		return pixels;
+	}
+
+	private static Color expected(int pixel, ColorSpace space) {
+		RGB color = RGB.of(pixel);
+		switch (space) {
+			case CMYK:
+				return color.toCMYK();
+			case HSL:
+				return color.toHSL();
+			case HSV:
+				return color.toHSV();
+			case LAB:
+				return color.toLAB();
+			case RGB:
+				return RGB.of(color.red(), color.green(), color.blue());
+			case XYZ:
+				return color.toXYZ();
+			case CMY:
+				return color.toCMY();
+			case HUNTER_LAB:
+				return color.toHunterLAB();
+			case LCH:
+				return color.toLCH();
+			case LUV:
+				return color.toLUV();
+			case YXY:
+			default:
+				return color.toYXY();
+		}
+	}
+
+	private static Color actual(float[] v, int o, ColorSpace space) {
+		switch (space) {
+			case CMYK:
+				return CMYK.of(v[o], v[o + 1], v[o + 2], v[o + 3]);
+			case HSL:
+				return HSL.of(v[o], v[o + 1], v[o + 2]);
+			case HSV:
+				return HSV.of(v[o], v[o + 1], v[o + 2]);
+			case LAB:
+				return LAB.of(v[o], v[o + 1], v[o + 2]);
+			case RGB:
+				return RGB.of((int) v[o], (int) v[o + 1], (int) v[o + 2]);
+			case XYZ:
+				return XYZ.of(v[o], v[o + 1], v[o + 2]);
+			case CMY:
+				return CMY.of(v[o], v[o + 1], v[o + 2]);
+			case HUNTER_LAB:
+				return HunterLAB.of(v[o], v[o + 1], v[o + 2]);
+			case LCH:
+				return LCH.of(v[o], v[o + 1], v[o + 2]);
+			case LUV:
+				return LUV.of(v[o], v[o + 1], v[o + 2]);
+			case YXY:
+			default:
+				return YXY.of(v[o], v[o + 1], v[o + 2]);
+		}
+	}
+
+	@Test
+	void interleavedMatchesObjectModel() {
+		int[] pixels = randomPixels();
+		for (ColorSpace space : ColorSpace.values()) {
+			int n = space.components();
+			float[] out = new float[COUNT * n];
+			ColorConverter.convert(pixels, 0, COUNT, out, space);
+			for (int i = 0; i < COUNT; i++) {
+				assertEquals(expected(pixels[i], space), actual(out, i * n, space),
+						space + " #" + Integer.toHexString(pixels[i]));
+			}
+		}
+	}
+
+	@Test
+	void planarMatchesInterleaved() {
+		int[] pixels = randomPixels();
+		for (ColorSpace space : ColorSpace.values()) {
+			int n = space.components();
+			float[] interleaved = new float[(COUNT - 10) * n];
+			ColorConverter.convert(pixels, 10, COUNT - 10, interleaved, space);
+
+			float[][] planes = new float[n][COUNT];
+			ColorConverter.convertPlanar(pixels, 10, COUNT - 10, planes, 5, space);
+			for (int i = 0; i < COUNT - 10; i++) {
+				for (int c = 0; c < n; c++) {
+					assertEquals(interleaved[i * n + c], planes[c][5 + i], 0f, space.toString());
+				}
+			}
+		}
+	}
+
+	@Test
+	void parallelMatchesSequential() {
+		int[] pixels = randomPixels();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			for (ColorSpace space : ColorSpace.values()) {
+				int n = space.components();
+				float[] sequential = new float[COUNT * n];
+				ColorConverter.convert(pixels, 0, COUNT, sequential, space);
+
+				float[] forkJoin = new float[COUNT * n];
+				ColorConverter.convertParallel(pixels, 0, COUNT, forkJoin, 0, space, pool, 100);
+				assertArrayEquals(sequential, forkJoin);
+
+				float[] executed = new float[COUNT * n];
+				ColorConverter.convertParallel(pixels, 0, COUNT, executed, 0, space, executor, 333);
+				assertArrayEquals(sequential, executed);
+			}
+		} finally {
+			pool.shutdown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void rejectsShortOutput() {
+		assertThrows(IllegalArgumentException.class, () ->
+				ColorConverter.convert(new int[4], 0, 4, new float[11], ColorSpace.LAB));
+	}
+}
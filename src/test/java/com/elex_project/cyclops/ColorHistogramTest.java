@@ -0,0 +1,60 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColorHistogramTest {
+
+	private static int[] row(Random random, int width) {
+		int[] row = new int[width];
+		for (int x = 0; x < width; x++) {
+			// A large grey background, a smaller vivid red, a few stray pixels
+			int v = random.nextInt(100);
+			row[x] = v < 60 ? 0xFF808080 : v < 90 ? 0xFFE01010 : random.nextInt() | 0xFF000000;
+		}
+		return row;
+	}
+
+	@Test
+	void streamingMatchesMerged() {
+		Random random = new Random(15);
+		for (ColorHistogram.Binning binning : ColorHistogram.Binning.values()) {
+			ColorHistogram whole = new ColorHistogram(binning, 5);
+			ColorHistogram even = new ColorHistogram(binning, 5);
+			ColorHistogram odd = new ColorHistogram(binning, 5);
+			for (int y = 0; y < 200; y++) {
+				int[] row = row(random, 300);
+				whole.add(row, 0, row.length);
+				(y % 2 == 0 ? even : odd).add(row, 0, row.length);
+			}
+			even.merge(odd);
+			assertEquals(60000, whole.getTotal());
+			assertEquals(whole.getTotal(), even.getTotal());
+			assertArrayEquals(whole.dominant(5).getColors(), even.dominant(5).getColors());
+			assertArrayEquals(whole.dominant(5).getCounts(), even.dominant(5).getCounts());
+
+			Palette byCount = whole.dominant(2, 0);
+			assertEquals(0xFF808080, byCount.getColor(0));
+			assertEquals(0xFFE01010, byCount.getColor(1));
+			// Chroma outweighs the larger grey area
+			Palette byScore = whole.dominant(2, 2);
+			assertEquals(0xFFE01010, byScore.getColor(0));
+
+			whole.clear();
+			assertEquals(0, whole.getTotal());
+			assertEquals(0, whole.dominant(3).size());
+		}
+		assertThrows(IllegalArgumentException.class, () ->
+				new ColorHistogram().merge(new ColorHistogram(ColorHistogram.Binning.LAB, 5)));
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompositorTest {
+	private static void assertClose(int expected, int actual) {
+		for (int shift = 0; shift < 32; shift += 8) {
+			assertEquals((expected >> shift) & 0xFF, (actual >> shift) & 0xFF, 1,
+					Integer.toHexString(expected) + " " + Integer.toHexString(actual));
+		}
+	}
+
+	private static int composite(Compositor.Mode mode, int src, int dst) {
+		int[] out = new int[1];
+		Compositor.composite(mode, new int[]{src}, 0, new int[]{dst}, 0, 1, out, 0);
+		return out[0];
+	}
+
+	@Test
+	void div255() {
+		for (int x = 0; x <= 255 * 255; x++) {
+			assertEquals(Math.round(x / 255f), Premultiplied.div255(x));
+		}
+	}
+
+	@Test
+	void porterDuff() {
+		Random random = new Random(42);
+		for (int i = 0; i < 10000; i++) {
+			int src = random.nextInt(), dst = random.nextInt();
+			assertClose(srcOver(src, dst), composite(Compositor.Mode.SRC_OVER, src, dst));
+			assertClose(srcOver(dst, src), composite(Compositor.Mode.DST_OVER, src, dst));
+			assertEquals(0, composite(Compositor.Mode.CLEAR, src, dst));
+			if (src >>> 24 != 0) assertClose(src, composite(Compositor.Mode.SRC, src, dst));
+			if (dst >>> 24 != 0) assertClose(dst, composite(Compositor.Mode.DST, src, dst));
+			int sa = src >>> 24, da = dst >>> 24;
+			assertEquals(Math.round(sa * da / 255f), composite(Compositor.Mode.SRC_IN, src, dst) >>> 24, 1);
+			assertEquals(Math.min(255, sa + da), composite(Compositor.Mode.PLUS, src, dst) >>> 24, 1);
+		}
+	}
+
+	private static int srcOver(int src, int dst) {
+		double sa = (src >>> 24) / 255.0, da = (dst >>> 24) / 255.0;
+		double a = sa + da * (1 - sa);
+		if (a == 0) return 0;
+		int argb = (int) Math.round(a * 255) << 24;
+		for (int shift = 0; shift < 24; shift += 8) {
+			double c = (((src >> shift) & 0xFF) * sa + ((dst >> shift) & 0xFF) * da * (1 - sa)) / a;
+			argb |= (int) Math.round(c) << shift;
+		}
+		return argb;
+	}
+
+	@Test
+	void blendModes() {
+		Random random = new Random(7);
+		for (int i = 0; i < 10000; i++) {
+			int src = random.nextInt() | 0xFF000000, dst = random.nextInt() | 0xFF000000;
+			for (int shift = 0; shift < 24; shift += 8) {
+				float s = ((src >> shift) & 0xFF) / 255f, d = ((dst >> shift) & 0xFF) / 255f;
+				assertEquals(s * d * 255, channel(Compositor.Mode.MULTIPLY, src, dst, shift), 1);
+				assertEquals((s + d - s * d) * 255, channel(Compositor.Mode.SCREEN, src, dst, shift), 1);
+				assertEquals(Math.abs(s - d) * 255, channel(Compositor.Mode.DIFFERENCE, src, dst, shift), 1);
+				float overlay = d <= 0.5f ? 2 * s * d : 1 - 2 * (1 - s) * (1 - d);
+				assertEquals(overlay * 255, channel(Compositor.Mode.OVERLAY, src, dst, shift), 1.5);
+			}
+		}
+		// A translucent source blends only as far as it covers
+		assertClose(0xFF808080, composite(Compositor.Mode.MULTIPLY, 0x00000000, 0xFF808080));
+		assertClose(0xFF404040, composite(Compositor.Mode.MULTIPLY, 0xFF808080, 0xFF808080));
+	}
+
+	private static int channel(Compositor.Mode mode, int src, int dst, int shift) {
+		return (composite(mode, src, dst) >> shift) & 0xFF;
+	}
+
+	@Test
+	void linearLight() {
+		int[] out = new int[1];
+		Compositor.compositeLinear(Compositor.Mode.SRC_OVER, new int[]{0x80FFFFFF}, 0,
+				new int[]{0xFF000000}, 0, 1, out, 0);
+		int expected = SRGB.fromLinear8(128 / 255f);
+		assertEquals(0xFF000000 | expected * 0x010101, out[0]);
+		assertEquals(0xFF808080 & 0xFF, composite(Compositor.Mode.SRC_OVER, 0x80FFFFFF, 0xFF000000) & 0xFF);
+
+		// Opaque source over anything stays the same
+		Random random = new Random(3);
+		for (int i = 0; i < 1000; i++) {
+			int src = random.nextInt() | 0xFF000000;
+			Compositor.compositeLinear(Compositor.Mode.SRC_OVER, new int[]{src}, 0,
+					new int[]{random.nextInt()}, 0, 1, out, 0);
+			assertEquals(src, out[0]);
+		}
+	}
+
+	@Test
+	void premultiplied() {
+		Random random = new Random(5);
+		int[] src = new int[1000], dst = new int[1000];
+		for (int i = 0; i < src.length; i++) {
+			src[i] = random.nextInt();
+			dst[i] = random.nextInt() | 0xFF000000;
+		}
+		int[] premultipliedSrc = new int[src.length], premultipliedDst = new int[dst.length];
+		Premultiplied.premultiply(src, 0, src.length, premultipliedSrc, 0);
+		Premultiplied.premultiply(dst, 0, dst.length, premultipliedDst, 0);
+		int[] expected = new int[src.length], actual = new int[src.length];
+		for (Compositor.Mode mode : Compositor.Mode.values()) {
+			Compositor.composite(mode, src, 0, dst, 0, src.length, expected, 0);
+			Compositor.compositePremultiplied(mode, premultipliedSrc, 0, premultipliedDst, 0, src.length, actual, 0);
+			// Premultiplied 8-bit colors are coarse at low alpha, so compare them premultiplied.
+			// Dodge and burn divide by the source and magnify its rounding.
+			Premultiplied.premultiply(expected, 0, expected.length, expected, 0);
+			int tolerance = mode == Compositor.Mode.COLOR_DODGE || mode == Compositor.Mode.COLOR_BURN ? 16 : 2;
+			for (int i = 0; i < src.length; i++) {
+				for (int shift = 0; shift < 32; shift += 8) {
+					assertEquals((expected[i] >> shift) & 0xFF, (actual[i] >> shift) & 0xFF, tolerance,
+							mode + " " + Integer.toHexString(src[i]) + " " + Integer.toHexString(dst[i]));
+				}
+			}
+		}
+		Compositor.blendPremultiplied(premultipliedSrc, 0, premultipliedDst, 0, src.length, 0.25f, actual, 0);
+		for (int i = 0; i < src.length; i++) {
+			assertEquals(Premultiplied.blend(premultipliedSrc[i], premultipliedDst[i], 0.25f), actual[i]);
+		}
+	}
+
+	@Test
+	void buffers() {
+		Random random = new Random(11);
+		int[] src = new int[1000], dst = new int[1000];
+		for (int i = 0; i < src.length; i++) {
+			src[i] = random.nextInt();
+			dst[i] = random.nextInt();
+		}
+		for (Compositor.Mode mode : Compositor.Mode.values()) {
+			int[] expected = new int[src.length];
+			Compositor.composite(mode, src, 0, dst, 0, src.length, expected, 0);
+			IntBuffer heap = IntBuffer.wrap(dst.clone());
+			Compositor.composite(mode, IntBuffer.wrap(src), heap);
+			assertArrayEquals(expected, heap.array());
+			assertEquals(src.length, heap.position());
+
+			IntBuffer direct = ByteBuffer.allocateDirect(dst.length * 4).asIntBuffer();
+			direct.put(dst).flip();
+			Compositor.composite(mode, IntBuffer.wrap(src), direct);
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals(expected[i], direct.get(i));
+			}
+
+			Compositor.compositeLinear(mode, src, 0, dst, 0, src.length, expected, 0);
+			heap = IntBuffer.wrap(dst.clone());
+			Compositor.compositeLinear(mode, IntBuffer.wrap(src), heap);
+			assertArrayEquals(expected, heap.array());
+
+			Compositor.compositePremultiplied(mode, src, 0, dst, 0, src.length, expected, 0);
+			heap = IntBuffer.wrap(dst.clone());
+			Compositor.compositePremultiplied(mode, IntBuffer.wrap(src), heap);
+			assertArrayEquals(expected, heap.array());
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContrastSolverTest {
+	@Test
+	void reachesTheRatio() {
+		Random random = new Random(42);
+		for (int i = 0; i < 500; i++) {
+			int color = random.nextInt() | 0xFF000000;
+			int background = random.nextInt() | 0xFF000000;
+			double ratio = i % 2 == 0 ? Contrast.AA : Contrast.AAA;
+			int solved = ContrastSolver.nearest(color, background, ratio);
+			double best = Math.max(Contrast.contrast(0xFF000000, background),
+					Contrast.contrast(0xFFFFFFFF, background));
+			if (best >= ratio) {
+				assertTrue(Contrast.contrast(solved, background) >= ratio);
+			}
+			if (Contrast.contrast(color, background) >= ratio) {
+				assertEquals(color, solved);
+			}
+		}
+	}
+
+	@Test
+	void closestLightness() {
+		Random random = new Random(7);
+		float[] lab = new float[3];
+		float[] lch = new float[3];
+		for (int i = 0; i < 20; i++) {
+			int color = random.nextInt() | 0xFF000000;
+			int background = random.nextInt() | 0xFF000000;
+			int solved = ContrastSolver.nearest(color, background, Contrast.AA);
+			if (Contrast.contrast(solved, background) < Contrast.AA) continue;
+
+			// No lightness of the same hue, with as much chroma as fits, is clearly closer
+			Conversions.rgbToLch(color, lch, 0);
+			Conversions.rgbToLab(color, lab, 0);
+			float[] solvedLab = new float[3];
+			Conversions.rgbToLab(solved, solvedLab, 0);
+			double distance = DeltaE.cie76(lab[0], lab[1], lab[2], solvedLab[0], solvedLab[1], solvedLab[2]);
+			for (float l = 0; l <= 100; l += 0.05f) {
+				int candidate = Conversions.lchToRgb(l, Conversions.maxChroma(l, lch[1], lch[2]), lch[2]);
+				if (Contrast.contrast(candidate, background) < Contrast.AA) continue;
+				Conversions.rgbToLab(candidate, solvedLab, 0);
+				assertTrue(DeltaE.cie76(lab[0], lab[1], lab[2], solvedLab[0], solvedLab[1], solvedLab[2])
+						> distance - 0.5, "L " + l);
+			}
+		}
+	}
+
+	@Test
+	void palette() {
+		int[] palette = {0xFF1E88E5, 0xFFFFC107, 0xFF43A047, 0xFFE53935, 0xFF8E24AA};
+		int[] backgrounds = {0xFFFFFFFF, 0xFFF5F5F5};
+		int[] out = new int[palette.length + 1];
+		ContrastSolver.nearest(palette, 0, palette.length, backgrounds, 0, backgrounds.length,
+				Contrast.AA, out, 1);
+		for (int i = 0; i < palette.length; i++) {
+			assertEquals(ContrastSolver.nearest(palette[i], backgrounds, 0, backgrounds.length, Contrast.AA),
+					out[i + 1]);
+			for (int background : backgrounds) {
+				assertTrue(Contrast.contrast(out[i + 1], background) >= Contrast.AA);
+			}
+		}
+		// Nothing reaches 21:1 against mid grey, black has the most contrast
+		assertEquals(0xFF000000, ContrastSolver.nearest(0xFF3366CC, 0xFF777777, 21));
+		assertThrows(IllegalArgumentException.class,
+				() -> ContrastSolver.nearest(0xFF000000, 0x80FFFFFF, Contrast.AA));
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContrastTest {
+	@Test
+	void blackOnWhite() {
+		assertEquals(21, Contrast.contrast(0xFF000000, 0xFFFFFFFF), 1e-9);
+		assertEquals(1, Contrast.contrast(0xFF808080, 0xFF808080), 1e-9);
+		assertEquals(RGB.of(0xFF336699).luminance(), Contrast.luminance(0xFF336699), 1e-6);
+	}
+
+	@Test
+	void batchesMatchPairs() {
+		Random random = new Random(42);
+		int[] foregrounds = new int[40];
+		int[] backgrounds = new int[30];
+		for (int i = 0; i < foregrounds.length; i++) {
+			// every other foreground is translucent
+			foregrounds[i] = i % 2 == 0 ? random.nextInt() | 0xFF000000 : random.nextInt();
+		}
+		for (int j = 0; j < backgrounds.length; j++) {
+			backgrounds[j] = random.nextInt() | 0xFF000000;
+		}
+
+		double[] matrix = new double[2 + foregrounds.length * backgrounds.length];
+		Contrast.matrix(foregrounds, 0, foregrounds.length, backgrounds, 0, backgrounds.length, matrix, 2);
+		double[] row = new double[backgrounds.length];
+		for (int i = 0; i < foregrounds.length; i++) {
+			Contrast.contrasts(foregrounds[i], backgrounds, 0, backgrounds.length, row, 0);
+			for (int j = 0; j < backgrounds.length; j++) {
+				double expected = Utils.calculateContrast(foregrounds[i], backgrounds[j]);
+				assertEquals(expected, row[j]);
+				assertEquals(expected, matrix[2 + i * backgrounds.length + j]);
+			}
+		}
+	}
+
+	@Test
+	void translucentBackground() {
+		int[] backgrounds = {0xFFFFFFFF, 0x80FFFFFF};
+		double[] out = new double[2];
+		assertThrows(IllegalArgumentException.class,
+				() -> Contrast.contrasts(0xFF000000, backgrounds, 0, 2, out, 0));
+		assertThrows(IllegalArgumentException.class,
+				() -> Contrast.matrix(backgrounds, 0, 1, backgrounds, 0, 2, out, 0));
+		assertThrows(IllegalArgumentException.class,
+				() -> Contrast.contrasts(0xFF000000, backgrounds, 1, 2, out, 0));
+	}
+
+	@Test
+	void minimumAlphaIsTheLeastPassingAlpha() {
+		Random random = new Random(7);
+		int[] foregrounds = new int[4000];
+		int[] bulk = new int[foregrounds.length];
+		int background = random.nextInt() | 0xFF000000;
+		for (int i = 0; i < foregrounds.length; i++) {
+			foregrounds[i] = random.nextInt();
+		}
+		Contrast.minimumAlphas(foregrounds, 0, foregrounds.length, background, 3f, bulk, 0);
+		for (int i = 0; i < foregrounds.length; i++) {
+			assertEquals(Contrast.minimumAlpha(foregrounds[i], background, 3f), bulk[i]);
+		}
+
+		int dips = 0;
+		for (int i = 0; i < 20000; i++) {
+			int foreground = random.nextInt();
+			int opaqueBackground = random.nextInt() | 0xFF000000;
+			float ratio = 1.2f + random.nextFloat() * 8;
+
+			IntToDoubleFunction contrast = a -> Utils.calculateContrast(
+					Utils.setAlphaComponent(foreground, a), opaqueBackground);
+			int alpha = Contrast.minimumAlpha(foreground, opaqueBackground, ratio);
+			assertEquals(contrast.applyAsDouble(255) < ratio ? -1 : leastPassing(ratio, contrast), alpha);
+			if (alpha != Utils.calculateMinimumAlpha(foreground, opaqueBackground, ratio)) {
+				dips++;
+				assertFalse(monotonic(ratio, contrast));
+			}
+
+			int opaque = Utils.setAlphaComponent(foreground, 255);
+			IntToDoubleFunction backgroundContrast = a -> Utils.calculateContrast(foreground,
+					Utils.setAlphaComponent(Utils.blendARGB(opaque, opaqueBackground, a / 255f), 255));
+			alpha = Contrast.minimumBackgroundAlpha(foreground, opaqueBackground, ratio);
+			assertEquals(leastPassing(ratio, backgroundContrast), alpha);
+			if (alpha != Utils.calculateMinimumBackgroundAlpha(foreground, opaqueBackground, ratio)) {
+				dips++;
+				assertFalse(monotonic(ratio, backgroundContrast));
+			}
+		}
+		// Bisection differs only where the contrast is not monotonic in the alpha
+		assertTrue(dips < 400, "dips " + dips);
+	}
+
+	/**
+	 * @return least alpha [1..255] where the contrast passes, 255 if none does
+	 */
+	private static int leastPassing(float ratio, IntToDoubleFunction contrast) {
+		for (int a = 1; a < 255; a++) {
+			if (contrast.applyAsDouble(a) >= ratio) return a;
+		}
+		return 255;
+	}
+
+	/**
+	 * Whether the contrast, once passing, keeps passing as the alpha grows.
+	 */
+	private static boolean monotonic(float ratio, IntToDoubleFunction contrast) {
+		for (int a = 2; a <= 255; a++) {
+			if (contrast.applyAsDouble(a - 1) >= ratio && contrast.applyAsDouble(a) < ratio) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
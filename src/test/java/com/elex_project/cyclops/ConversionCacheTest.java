@@ -0,0 +1,108 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionCacheTest {
+	@Test
+	void hitsAndMisses() {
+		ConversionCache cache = new ConversionCache(ConversionCache.Target.LCH, 1000);
+		assertEquals(1024, cache.getCapacity());
+		float[] expected = new float[3];
+		float[] actual = new float[3];
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 100; i++) {
+				int color = i * 0x010203 | (round << 24);
+				Conversions.rgbToLch(color, expected, 0);
+				cache.lookup(color, actual, 0);
+				assertArrayEquals(expected, actual);
+			}
+		}
+		assertEquals(100, cache.getMisses());
+		assertEquals(200, cache.getHits());
+		assertEquals(100, cache.size());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHits());
+	}
+
+	@Test
+	void bounded() {
+		ConversionCache cache = new ConversionCache(ConversionCache.Target.LAB, 256);
+		float[] expected = new float[3];
+		float[] actual = new float[3];
+		Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			// A small hot set among many one-off colors
+			int color = i % 2 == 0 ? random.nextInt(32) : random.nextInt();
+			Conversions.rgbToLab(color, expected, 0);
+			cache.lookup(color, actual, 0);
+			assertArrayEquals(expected, actual);
+		}
+		assertTrue(cache.size() <= 256);
+		assertTrue(cache.getEvictions() > 0);
+		assertTrue(cache.getHits() > 40_000, "hits " + cache.getHits());
+	}
+
+	@Test
+	void concurrent() throws Exception {
+		ConversionCache cache = new ConversionCache(ConversionCache.Target.LAB, 512);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] futures = new Future<?>[4];
+			for (int t = 0; t < futures.length; t++) {
+				final long seed = t;
+				futures[t] = executor.submit(() -> {
+					Random random = new Random(seed);
+					float[] expected = new float[3];
+					float[] actual = new float[3];
+					for (int i = 0; i < 50_000; i++) {
+						int color = random.nextInt(2048) * 0x1F3D5;
+						Conversions.rgbToLab(color, expected, 0);
+						cache.lookup(color, actual, 0);
+						assertArrayEquals(expected, actual);
+					}
+				});
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		assertEquals(200_000, cache.getHits() + cache.getMisses());
+	}
+
+	@Test
+	void sharedCaches() {
+		ConversionCache.enable(4096);
+		try {
+			RGB color = RGB.of(124, 38, 62);
+			LAB lab = color.toLAB();
+			LCH lch = color.toLCH();
+			assertEquals(lab, color.toLAB());
+			assertEquals(lch, color.toLCH());
+			assertEquals(1, ConversionCache.get(ConversionCache.Target.LAB).getHits());
+			assertEquals(1, ConversionCache.get(ConversionCache.Target.LCH).getHits());
+		} finally {
+			ConversionCache.setEnabled(false);
+		}
+		assertNull(ConversionCache.get(ConversionCache.Target.LAB));
+	}
+}
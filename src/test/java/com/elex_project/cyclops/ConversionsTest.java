@@ -0,0 +1,167 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The fused kernels must give the same result as the chain of single hops they replace.
+ */
+class ConversionsTest {
+	private static final int COUNT = 20000;
+
+	private static int[] randomColors() {
+		Random random = new Random(7);
+		int[] colors = new int[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			colors[i] = random.nextInt() | 0xFF000000;
+		}
+		return colors;
+	}
+
+	@Test
+	void rgbToLab() {
+		for (int color : randomColors()) {
+			RGB rgb = RGB.of(color);
+			assertEquals(rgb.toXYZ().toLAB(), rgb.toLAB());
+		}
+	}
+
+	@Test
+	void rgbToLch() {
+		for (int color : randomColors()) {
+			RGB rgb = RGB.of(color);
+			assertEquals(rgb.toXYZ().toLAB().toLCH(), rgb.toLCH());
+		}
+	}
+
+	@Test
+	void rgbToLuv() {
+		for (int color : randomColors()) {
+			RGB rgb = RGB.of(color);
+			assertEquals(rgb.toXYZ().toLUV(), rgb.toLUV());
+		}
+	}
+
+	@Test
+	void labToRgb() {
+		for (int color : randomColors()) {
+			LAB lab = RGB.of(color).toLAB();
+			assertEquals(lab.toXYZ().toRGB(), lab.toRGB());
+			assertEquals(color, lab.toRGB().getColor());
+		}
+	}
+
+	@Test
+	void lchToRgb() {
+		for (int color : randomColors()) {
+			LCH lch = RGB.of(color).toLCH();
+			assertEquals(lch.toLAB().toXYZ().toRGB(), lch.toRGB());
+			assertEquals(color, lch.toRGB().getColor());
+		}
+	}
+
+	@Test
+	void luvToRgb() {
+		for (int color : randomColors()) {
+			LUV luv = RGB.of(color).toLUV();
+			assertEquals(luv.toXYZ().toRGB(), luv.toRGB());
+		}
+	}
+
+	@Test
+	void hsvHslToLab() {
+		for (int color : randomColors()) {
+			HSV hsv = RGB.of(color).toHSV();
+			assertEquals(hsv.toRGB().toXYZ().toLAB(), hsv.toLAB());
+			HSL hsl = RGB.of(color).toHSL();
+			assertEquals(hsl.toRGB().toXYZ().toLAB(), hsl.toLAB());
+		}
+	}
+
+	@Test
+	void labToHsvHsl() {
+		for (int color : randomColors()) {
+			LAB lab = RGB.of(color).toLAB();
+			assertEquals(lab.toXYZ().toRGB().toHSV(), lab.toHSV());
+			assertEquals(lab.toXYZ().toRGB().toHSL(), lab.toHSL());
+		}
+	}
+
+	@Test
+	void objectKernels() {
+		float[] out = new float[3];
+		for (int color : randomColors()) {
+			Conversions.rgbToXyz(color, out, 0);
+			assertEquals(XYZ.of(out[0], out[1], out[2]), Conversions.rgbToXyz(color));
+			Conversions.rgbToLab(color, out, 0);
+			assertEquals(LAB.of(out[0], out[1], out[2]), Conversions.rgbToLab(color));
+			Conversions.rgbToLch(color, out, 0);
+			assertEquals(LCH.of(out[0], out[1], out[2]), Conversions.rgbToLch(color));
+			Conversions.rgbToLuv(color, out, 0);
+			assertEquals(LUV.of(out[0], out[1], out[2]), Conversions.rgbToLuv(color));
+			Conversions.rgbToHsl(color, out, 0);
+			assertEquals(HSL.of(out[0], out[1], out[2]), Conversions.rgbToHsl(color));
+			Conversions.rgbToHsv(color, out, 0);
+			assertEquals(HSV.of(out[0], out[1], out[2]), Conversions.rgbToHsv(color));
+			Conversions.rgbToCmy(color, out, 0);
+			assertEquals(CMY.of(out[0], out[1], out[2]), Conversions.rgbToCmy(color));
+		}
+	}
+
+	@Test
+	void objectKernelsOfComponents() {
+		float[] xyz = new float[3], lab = new float[3], c = new float[4], out = new float[4];
+		for (int color : randomColors()) {
+			Conversions.rgbToXyz(color, xyz, 0);
+			Conversions.xyzToLab(xyz[0], xyz[1], xyz[2], lab, 0);
+			assertEquals(LAB.of(lab[0], lab[1], lab[2]), Conversions.xyzToLab(xyz[0], xyz[1], xyz[2]));
+			Conversions.labToXyz(lab[0], lab[1], lab[2], out, 0);
+			assertEquals(XYZ.of(out[0], out[1], out[2]), Conversions.labToXyz(lab[0], lab[1], lab[2]));
+			Conversions.labToLch(lab[0], lab[1], lab[2], c, 0);
+			assertEquals(LCH.of(c[0], c[1], c[2]), Conversions.labToLch(lab[0], lab[1], lab[2]));
+			Conversions.lchToLab(c[0], c[1], c[2], out, 0);
+			assertEquals(LAB.of(out[0], out[1], out[2]), Conversions.lchToLab(c[0], c[1], c[2]));
+			Conversions.xyzToLuv(xyz[0], xyz[1], xyz[2], c, 0);
+			assertEquals(LUV.of(c[0], c[1], c[2]), Conversions.xyzToLuv(xyz[0], xyz[1], xyz[2]));
+			Conversions.luvToXyz(c[0], c[1], c[2], out, 0);
+			assertEquals(XYZ.of(out[0], out[1], out[2]), Conversions.luvToXyz(c[0], c[1], c[2]));
+			Conversions.xyzToHunterLab(xyz[0], xyz[1], xyz[2], c, 0);
+			assertEquals(HunterLAB.of(c[0], c[1], c[2]), Conversions.xyzToHunterLab(xyz[0], xyz[1], xyz[2]));
+			Conversions.hunterLabToXyz(c[0], c[1], c[2], out, 0);
+			assertEquals(XYZ.of(out[0], out[1], out[2]), Conversions.hunterLabToXyz(c[0], c[1], c[2]));
+			Conversions.xyzToYxy(xyz[0], xyz[1], xyz[2], c, 0);
+			assertEquals(YXY.of(c[0], c[1], c[2]), Conversions.xyzToYxy(xyz[0], xyz[1], xyz[2]));
+			Conversions.yxyToXyz(c[0], c[1], c[2], out, 0);
+			assertEquals(XYZ.of(out[0], out[1], out[2]), Conversions.yxyToXyz(c[0], c[1], c[2]));
+			Conversions.rgbToCmy(color, c, 0);
+			Conversions.cmyToCmyk(c[0], c[1], c[2], out, 0);
+			assertEquals(CMYK.of(out[0], out[1], out[2], out[3]), Conversions.cmyToCmyk(c[0], c[1], c[2]));
+			Conversions.cmykToCmy(out[0], out[1], out[2], out[3], c, 0);
+			assertEquals(CMY.of(c[0], c[1], c[2]), Conversions.cmykToCmy(out[0], out[1], out[2], out[3]));
+		}
+	}
+
+	@Test
+	void oklab() {
+		float[] lab = new float[3];
+		Conversions.rgbToOklab(0xFFFFFFFF, lab, 0);
+		assertArrayEquals(new float[]{1, 0, 0}, lab, 1e-4f);
+		// Reference values from Björn Ottosson's OKLab post
+		Conversions.rgbToOklab(0xFFFF0000, lab, 0);
+		assertArrayEquals(new float[]{0.627955f, 0.224863f, 0.125846f}, lab, 1e-4f);
+		for (int color : randomColors()) {
+			Conversions.rgbToOklab(color, lab, 0);
+			assertEquals(color, Conversions.oklabToRgb(lab[0], lab[1], lab[2]));
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaETest {
+	/**
+	 * L1 a1 b1 L2 a2 b2 ΔE00, from Sharma, Wu and Dalal (2005)
+	 */
+	private static final float[][] CIEDE2000_DATA = {
+			{50.0000f, 2.6772f, -79.7751f, 50.0000f, 0.0000f, -82.7485f, 2.0425f},
+			{50.0000f, 3.1571f, -77.2803f, 50.0000f, 0.0000f, -82.7485f, 2.8615f},
+			{50.0000f, 2.8361f, -74.0200f, 50.0000f, 0.0000f, -82.7485f, 3.4412f},
+			{50.0000f, -1.3802f, -84.2814f, 50.0000f, 0.0000f, -82.7485f, 1.0000f},
+			{50.0000f, -1.1848f, -84.8006f, 50.0000f, 0.0000f, -82.7485f, 1.0000f},
+			{50.0000f, -0.9009f, -85.5211f, 50.0000f, 0.0000f, -82.7485f, 1.0000f},
+			{50.0000f, 0.0000f, 0.0000f, 50.0000f, -1.0000f, 2.0000f, 2.3669f},
+			{50.0000f, -1.0000f, 2.0000f, 50.0000f, 0.0000f, 0.0000f, 2.3669f},
+			{50.0000f, 2.4900f, -0.0010f, 50.0000f, -2.4900f, 0.0009f, 7.1792f},
+			{50.0000f, 2.4900f, -0.0010f, 50.0000f, -2.4900f, 0.0010f, 7.1792f},
+			{50.0000f, 2.4900f, -0.0010f, 50.0000f, -2.4900f, 0.0011f, 7.2195f},
+			{50.0000f, 2.4900f, -0.0010f, 50.0000f, -2.4900f, 0.0012f, 7.2195f},
+			{50.0000f, -0.0010f, 2.4900f, 50.0000f, 0.0009f, -2.4900f, 4.8045f},
+			{50.0000f, -0.0010f, 2.4900f, 50.0000f, 0.0010f, -2.4900f, 4.8045f},
+			{50.0000f, -0.0010f, 2.4900f, 50.0000f, 0.0011f, -2.4900f, 4.7461f},
+			{50.0000f, 2.5000f, 0.0000f, 50.0000f, 0.0000f, -2.5000f, 4.3065f},
+			{50.0000f, 2.5000f, 0.0000f, 73.0000f, 25.0000f, -18.0000f, 27.1492f},
+			{50.0000f, 2.5000f, 0.0000f, 61.0000f, -5.0000f, 29.0000f, 22.8977f},
+			{50.0000f, 2.5000f, 0.0000f, 56.0000f, -27.0000f, -3.0000f, 31.9030f},
+			{50.0000f, 2.5000f, 0.0000f, 58.0000f, 24.0000f, 15.0000f, 19.4535f},
+			{50.0000f, 2.5000f, 0.0000f, 50.0000f, 3.1736f, 0.5854f, 1.0000f},
+			{50.0000f, 2.5000f, 0.0000f, 50.0000f, 3.2972f, 0.0000f, 1.0000f},
+			{50.0000f, 2.5000f, 0.0000f, 50.0000f, 1.8634f, 0.5757f, 1.0000f},
+			{50.0000f, 2.5000f, 0.0000f, 50.0000f, 3.2592f, 0.3350f, 1.0000f},
+			{60.2574f, -34.0099f, 36.2677f, 60.4626f, -34.1751f, 39.4387f, 1.2644f},
+			{63.0109f, -31.0961f, -5.8663f, 62.8187f, -29.7946f, -4.0864f, 1.2630f},
+			{61.2901f, 3.7196f, -5.3901f, 61.4292f, 2.2480f, -4.9620f, 1.8731f},
+			{35.0831f, -44.1164f, 3.7933f, 35.0232f, -40.0716f, 1.5901f, 1.8645f},
+			{22.7233f, 20.0904f, -46.6940f, 23.0331f, 14.9730f, -42.5619f, 2.0373f},
+			{36.4612f, 47.8580f, 18.3852f, 36.2715f, 50.5065f, 21.2231f, 1.4146f},
+			{90.8027f, -2.0831f, 1.4410f, 91.1528f, -1.6435f, 0.0447f, 1.4441f},
+			{90.9257f, -0.5406f, -0.9208f, 88.6381f, -0.8985f, -0.7239f, 1.5381f},
+			{6.7747f, -0.2908f, -2.4247f, 5.8714f, -0.0985f, -2.2286f, 0.6377f},
+			{2.0776f, 0.0795f, -1.1350f, 0.9033f, -0.0636f, -0.5514f, 0.9082f},
+	};
+
+	@Test
+	void ciede2000() {
+		for (float[] d : CIEDE2000_DATA) {
+			assertEquals(d[6], DeltaE.ciede2000(d[0], d[1], d[2], d[3], d[4], d[5]), 1e-4f);
+			assertEquals(d[6], DeltaE.ciede2000(d[3], d[4], d[5], d[0], d[1], d[2]), 1e-4f);
+		}
+	}
+
+	@Test
+	void cie94AndCmc() {
+		assertEquals(0, DeltaE.CIE94.difference(50, 10, 10, 50, 10, 10), 0);
+		assertEquals(0, DeltaE.CMC_2_1.difference(50, 10, 10, 50, 10, 10), 0);
+		// A pure lightness difference is only scaled by SL
+		assertEquals(5, DeltaE.cie94(50, 20, -30, 55, 20, -30), 1e-5f);
+		assertEquals(5 * (1 + 0.01765 * 50) / (0.040975 * 50) / 2,
+				DeltaE.CMC_2_1.difference(50, 20, -30, 55, 20, -30), 1e-4f);
+		// Hue differences weigh less than the euclidean distance for saturated colors
+		assertTrue(DeltaE.cie94(50, 60, 0, 50, 0, 60) < DeltaE.cie76(50, 60, 0, 50, 0, 60));
+		assertTrue(DeltaE.CMC_1_1.difference(50, 60, 0, 50, 0, 60) < DeltaE.cie76(50, 60, 0, 50, 0, 60));
+	}
+
+	@Test
+	void bulkMatchesScalar() {
+		float[] labs = new float[CIEDE2000_DATA.length * 3];
+		for (int i = 0; i < CIEDE2000_DATA.length; i++) {
+			System.arraycopy(CIEDE2000_DATA[i], 0, labs, i * 3, 3);
+		}
+		int n = CIEDE2000_DATA.length;
+		for (DeltaE formula : DeltaE.values()) {
+			float[] matrix = new float[n * n];
+			formula.matrix(labs, 0, n, labs, 0, n, matrix, 0);
+			float[] row = new float[n];
+			LAB reference = LAB.of(labs[6], labs[7], labs[8]);
+			formula.differences(reference, labs, 0, n, row, 0);
+			float[] pairs = new float[n - 1];
+			formula.differences(labs, 0, labs, 3, n - 1, pairs, 0);
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					assertEquals(formula.difference(labs[i * 3], labs[i * 3 + 1], labs[i * 3 + 2],
+							labs[j * 3], labs[j * 3 + 1], labs[j * 3 + 2]), matrix[i * n + j], 0);
+				}
+				assertEquals(matrix[2 * n + i], row[i], 0);
+				if (i < n - 1) assertEquals(matrix[i * n + i + 1], pairs[i], 0);
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () ->
+				DeltaE.CIEDE2000.differences(labs, 0, labs, 3, n, new float[n], 0));
+	}
+}
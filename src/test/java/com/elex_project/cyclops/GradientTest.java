@@ -0,0 +1,79 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientTest {
+	@Test
+	void endpoints() {
+		Random random = new Random(42);
+		for (Gradient.Space space : Gradient.Space.values()) {
+			for (int i = 0; i < 200; i++) {
+				int from = random.nextInt() | 0xFF000000;
+				int to = random.nextInt() | 0xFF000000;
+				int[] lut = Gradient.of(space, from, to).toArray(64);
+				assertEquals(from, lut[0], space.name());
+				assertEquals(to, lut[63], space.name());
+			}
+		}
+	}
+
+	@Test
+	void tableMatchesColors() {
+		Gradient gradient = Gradient.of(Gradient.Space.LCH, new float[]{0, 0.3f, 0.3f, 1},
+				new int[]{0xFF0000FF, 0x80FFFF00, 0xFF808080, 0xFFFF0000});
+		int[] lut = gradient.toArray(101);
+		for (int i = 0; i < lut.length; i++) {
+			assertEquals(gradient.getColor(i / 100f), lut[i]);
+		}
+	}
+
+	@Test
+	void hueTakesTheShorterWay() {
+		float[] lch = new float[3];
+		int from = Conversions.lchToRgb(50, 30, 340);
+		int to = Conversions.lchToRgb(50, 30, 20);
+		Conversions.rgbToLch(Gradient.of(Gradient.Space.LCH, from, to).getColor(0.5f), lch, 0);
+		assertTrue(lch[2] > 350 || lch[2] < 10, "hue " + lch[2]);
+
+		// Grey has no hue of its own
+		Conversions.rgbToLch(Gradient.of(Gradient.Space.LCH, 0xFF808080, 0xFF0000FF).getColor(0.5f), lch, 0);
+		float[] blue = new float[3];
+		Conversions.rgbToLch(0xFF0000FF, blue, 0);
+		assertEquals(blue[2], lch[2], 10);
+
+		float[] hsl = new float[3];
+		Conversions.rgbToHsl(Gradient.of(Gradient.Space.HSL, 0xFFFF0040, 0xFFFF4000).getColor(0.5f), hsl, 0);
+		assertTrue(hsl[0] > 0.95f || hsl[0] < 0.05f, "hue " + hsl[0]);
+	}
+
+	@Test
+	void sampler() {
+		Gradient gradient = Gradient.of(Gradient.Space.OKLAB, 0xFF000080, 0xFFFFFF00, 0xFFFF0000);
+		Gradient.Sampler sampler = gradient.sampler(256, -10, 30);
+		int[] lut = gradient.toArray(256);
+		assertEquals(lut[0], sampler.sample(-10));
+		assertEquals(lut[0], sampler.sample(-100));
+		assertEquals(lut[0], sampler.sample(Float.NaN));
+		assertEquals(lut[255], sampler.sample(30));
+		assertEquals(lut[255], sampler.sample(Float.POSITIVE_INFINITY));
+		assertEquals(lut[128], sampler.sample(10.05f));
+
+		float[] values = {-10, 0, 10, 20, 30};
+		int[] out = new int[values.length];
+		sampler.sample(values, 0, values.length, out, 0);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(sampler.sample(values[i]), out[i]);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HarmonyTest {
+	private static float hueDistance(float h1, float h2) {
+		float d = Math.abs(h1 - h2) % 360;
+		return Math.min(d, 360 - d);
+	}
+
+	@Test
+	void rotatesTheHue() {
+		float[] seed = new float[3];
+		float[] lch = new float[3];
+		// Muted colors stay inside the gamut when rotated
+		int[] colors = {0xFF8C6E6E, 0xFF6E8C78, 0xFF77779A, 0xFF9A9070};
+		for (int color : colors) {
+			Conversions.rgbToLch(color, seed, 0);
+			Conversions.rgbToLch(Harmony.complement(color), lch, 0);
+			assertEquals(seed[0], lch[0], 1);
+			assertEquals(seed[1], lch[1], 2);
+			assertEquals(180, hueDistance(seed[2], lch[2]), 3);
+
+			int[] triadics = Harmony.triadics(color);
+			assertEquals(2, triadics.length);
+			for (int triadic : triadics) {
+				Conversions.rgbToLch(triadic, lch, 0);
+				assertEquals(seed[0], lch[0], 1);
+				assertEquals(120, hueDistance(seed[2], lch[2]), 3);
+			}
+		}
+	}
+
+	@Test
+	void keepsHueOutOfGamut() {
+		float[] lch = new float[3];
+		for (int color : Harmony.splitComplements(0xFFFF0000)) {
+			float[] unclipped = new float[3];
+			Conversions.rgbToLch(0xFFFF0000, unclipped, 0);
+			Conversions.rgbToLch(color, lch, 0);
+			assertEquals(unclipped[0], lch[0], 1);
+			assertEquals(150, hueDistance(unclipped[2], lch[2]), 3);
+		}
+	}
+
+	@Test
+	void monochromatics() {
+		float[] seed = new float[3];
+		float[] lch = new float[3];
+		Conversions.rgbToLch(0xFF3366CC, seed, 0);
+		int[] tones = Harmony.monochromatics(0xFF3366CC);
+		assertEquals(4, tones.length);
+		float previous = 101;
+		for (int tone : tones) {
+			Conversions.rgbToLch(tone, lch, 0);
+			assertTrue(lch[0] < previous);
+			assertEquals(seed[2], lch[2], 4);
+			previous = lch[0];
+		}
+		Conversions.rgbToLch(tones[1], lch, 0);
+		assertTrue(lch[0] > seed[0]);
+		Conversions.rgbToLch(tones[2], lch, 0);
+		assertTrue(lch[0] < seed[0]);
+	}
+
+	@Test
+	void batchMatchesSeeds() {
+		Random random = new Random(42);
+		int[] seeds = new int[1000];
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = random.nextInt();
+		}
+		for (Harmony.Scheme scheme : Harmony.Scheme.values()) {
+			int[] out = new int[seeds.length * scheme.size() + 1];
+			Harmony.harmonies(scheme, seeds, 0, seeds.length, out, 1);
+			for (int i = 0; i < seeds.length; i++) {
+				int[] single = Harmony.harmonies(scheme, seeds[i]);
+				for (int k = 0; k < single.length; k++) {
+					assertEquals(single[k], out[1 + i * scheme.size() + k]);
+				}
+			}
+		}
+	}
+}
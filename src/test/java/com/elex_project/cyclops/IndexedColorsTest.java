@@ -0,0 +1,91 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedColorsTest {
+
+	private static double distance(int c1, int c2, IndexedColors.Metric metric) {
+		if (metric == IndexedColors.Metric.CIE76) {
+			float[] lab1 = new float[3], lab2 = new float[3];
+			Conversions.rgbToLab(c1, lab1, 0);
+			Conversions.rgbToLab(c2, lab2, 0);
+			return Math.sqrt(Math.pow(lab1[0] - lab2[0], 2) + Math.pow(lab1[1] - lab2[1], 2)
+					+ Math.pow(lab1[2] - lab2[2], 2));
+		}
+		return Math.sqrt(Math.pow(Utils.red(c1) - Utils.red(c2), 2)
+				+ Math.pow(Utils.green(c1) - Utils.green(c2), 2)
+				+ Math.pow(Utils.blue(c1) - Utils.blue(c2), 2));
+	}
+
+	@Test
+	void nearestMatchesBruteForce() {
+		Random random = new Random(11);
+		for (IndexedColors.Metric metric : IndexedColors.Metric.values()) {
+			for (int i = 0; i < 500; i++) {
+				int color = random.nextInt() | 0xFF000000;
+				double best = Double.MAX_VALUE;
+				for (String name : IndexedColors.nameSet()) {
+					best = Math.min(best, distance(color, IndexedColors.get(name), metric));
+				}
+				String nearest = IndexedColors.nearest(color, metric);
+				assertEquals(best, distance(color, IndexedColors.get(nearest), metric), 1e-3);
+
+				String[] names = IndexedColors.nearest(color, 5, metric);
+				assertEquals(5, names.length);
+				assertEquals(nearest, names[0]);
+				assertEquals(best, distance(color, IndexedColors.get(names[0]), metric), 1e-3);
+				for (int k = 1; k < names.length; k++) {
+					assertTrue(distance(color, IndexedColors.get(names[k - 1]), metric)
+							<= distance(color, IndexedColors.get(names[k]), metric) + 1e-3);
+				}
+			}
+		}
+	}
+
+	@Test
+	void nearestOfIndexedColorIsItself() {
+		assertEquals(IndexedColors.get("zaffre"), IndexedColors.get(IndexedColors.nearest(IndexedColors.get("zaffre"))));
+	}
+
+	@Test
+	void normalizedLookup() {
+		int blueViolet = Utils.rgb(0x8a, 0x2b, 0xe2);
+		assertEquals(blueViolet, IndexedColors.get("blue violet"));
+		assertEquals(blueViolet, IndexedColors.get("BlueViolet"));
+		assertEquals(blueViolet, IndexedColors.get("blue-violet"));
+		assertEquals(blueViolet, IndexedColors.get(new StringBuilder(" Blue_Violet ")));
+		assertEquals(IndexedColors.get("corn silk"), IndexedColors.get("Cornsilk"));
+		for (String name : IndexedColors.nameSet()) {
+			assertTrue(IndexedColors.contains(name.toUpperCase()), name);
+		}
+	}
+
+	@Test
+	void nameSetKeepsAliases() {
+		assertEquals(761, IndexedColors.nameSet().size());
+		for (String name : new String[]{"cornsilk", "corn silk", "seashell", "sea shell", "firebrick", "fire brick"}) {
+			assertTrue(IndexedColors.nameSet().contains(name), name);
+		}
+		assertEquals(IndexedColors.get("fire brick"), IndexedColors.get("firebrick"));
+	}
+
+	@Test
+	void unknownName() {
+		assertFalse(IndexedColors.find("blue violets").isPresent());
+		assertFalse(IndexedColors.contains("blu"));
+		assertFalse(IndexedColors.contains(""));
+		assertEquals(0x12345678, IndexedColors.getOrDefault("no such color", 0x12345678));
+		assertThrows(IllegalArgumentException.class, () -> IndexedColors.get("no such color"));
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The kernels in use, vectorized or not, against the scalar reference.
+ */
+class KernelsTest {
+	private static final int COUNT = 100_003;
+
+	private static int[] randomColors(long seed) {
+		Random random = new Random(seed);
+		int[] colors = new int[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			colors[i] = random.nextInt();
+		}
+		return colors;
+	}
+
+	@Test
+	void conversions() {
+		int[] colors = randomColors(16);
+		for (int off : new int[]{0, 5}) {
+			int len = COUNT - off - 2;
+			float[] expected = new float[len * 3 + 1];
+			float[] actual = new float[len * 3 + 1];
+			ScalarKernels.rgbToXyz(colors, off, len, expected, 1);
+			Kernels.rgbToXyz(colors, off, len, actual, 1);
+			assertArrayEquals(expected, actual);
+			ScalarKernels.rgbToLab(colors, off, len, expected, 1);
+			Kernels.rgbToLab(colors, off, len, actual, 1);
+			assertArrayEquals(expected, actual);
+		}
+	}
+
+	@Test
+	void compositing() {
+		int[] colors1 = randomColors(1);
+		int[] colors2 = randomColors(2);
+		for (int i = 0; i < 1000; i++) {
+			colors1[i] &= 0x00FFFFFF;
+			colors2[i + 1000] &= 0x00FFFFFF;
+		}
+		int[] expected = new int[COUNT];
+		int[] actual = new int[COUNT];
+		for (float ratio : new float[]{0, 0.3f, 0.5f, 1}) {
+			ScalarKernels.blend(colors1, 3, colors2, 0, COUNT - 3, ratio, expected, 0);
+			Compositor.blend(colors1, 3, colors2, 0, COUNT - 3, ratio, actual, 0);
+			assertArrayEquals(expected, actual);
+		}
+		ScalarKernels.composite(colors1, 0, colors2, 3, COUNT - 3, expected, 0);
+		Compositor.composite(colors1, 0, colors2, 3, COUNT - 3, actual, 0);
+		assertArrayEquals(expected, actual);
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabTableTest {
+
+	@Test
+	void quantizationError() {
+		LabTable table = LabTable.get();
+		float[] expected = new float[3];
+		float[] actual = new float[3];
+		for (int color = 0; color < 1 << 24; color += 31) {
+			Conversions.rgbToLab(color, expected, 0);
+			table.lookup(color, actual, 0);
+			for (int c = 0; c < 3; c++) {
+				assertEquals(expected[c], actual[c], 0.002f, "#" + Integer.toHexString(color));
+			}
+		}
+	}
+
+	@Test
+	void enabledFastPath() {
+		LabTable.setEnabled(true);
+		try {
+			LAB lab = RGB.of(124, 38, 62).toLAB();
+			LAB exact = RGB.of(124, 38, 62).toXYZ().toLAB();
+			assertEquals(exact.getL(), lab.getL(), 0.002f);
+			assertEquals(exact.getA(), lab.getA(), 0.002f);
+			assertEquals(exact.getB(), lab.getB(), 0.002f);
+		} finally {
+			LabTable.setEnabled(false);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Lut3DTest {
+
+	private static int[] randomColors(int count) {
+		Random random = new Random(3);
+		int[] colors = new int[count];
+		for (int i = 0; i < count; i++) {
+			colors[i] = random.nextInt();
+		}
+		return colors;
+	}
+
+	@Test
+	void identity() {
+		Lut3D lut = Lut3D.bake(17, color -> color);
+		int[] colors = randomColors(1000);
+		for (Lut3D.Interpolation interpolation : Lut3D.Interpolation.values()) {
+			int[] out = new int[colors.length];
+			lut.apply(colors, 0, colors.length, out, 0, interpolation);
+			assertArrayEquals(colors, out);
+		}
+	}
+
+	@Test
+	void hueShiftCloseToChain() {
+		Lut3D lut = Lut3D.bake(33, color -> {
+			LCH lch = color.toLCH();
+			lch.setH(lch.getH() + 30);
+			return lch;
+		});
+		int[] colors = randomColors(1000);
+		int[] out = new int[colors.length];
+		lut.apply(colors, 0, colors.length, out, 0, Lut3D.Interpolation.TETRAHEDRAL);
+
+		double error = 0;
+		for (int i = 0; i < colors.length; i++) {
+			LCH lch = RGB.of(colors[i]).toLCH();
+			lch.setH(lch.getH() + 30);
+			int expected = lch.toRGB().getColor();
+			error += Math.abs(Utils.red(expected) - Utils.red(out[i]))
+					+ Math.abs(Utils.green(expected) - Utils.green(out[i]))
+					+ Math.abs(Utils.blue(expected) - Utils.blue(out[i]));
+		}
+		// Mean error per channel, in 8-bit steps
+		assertTrue(error / (colors.length * 3) < 3, "mean error " + error / (colors.length * 3));
+	}
+
+	@Test
+	void cubeRoundTrip() throws IOException {
+		Lut3D lut = Lut3D.bake(5, 3, (r, g, b, out) -> {
+			out[0] = b;
+			out[1] = r;
+			out[2] = g;
+		});
+		StringWriter writer = new StringWriter();
+		lut.write(writer, "swap");
+		Lut3D read = Lut3D.read(new StringReader(writer.toString()));
+		assertEquals(5, read.size());
+
+		float[] expected = new float[3];
+		float[] actual = new float[3];
+		lut.sample(0.3f, 0.6f, 0.9f, expected, 0, Lut3D.Interpolation.TRILINEAR);
+		read.sample(0.3f, 0.6f, 0.9f, actual, 0, Lut3D.Interpolation.TRILINEAR);
+		assertArrayEquals(expected, actual, 1e-5f);
+		assertArrayEquals(new float[]{0.9f, 0.3f, 0.6f}, actual, 1e-5f);
+	}
+
+	@Test
+	void rejectsBadRange() {
+		Lut3D lut = Lut3D.bake(2, color -> color);
+		assertThrows(IllegalArgumentException.class, () ->
+				lut.apply(new int[4], 2, 4, new int[4], 0, Lut3D.Interpolation.TRILINEAR));
+		assertThrows(IllegalArgumentException.class, () ->
+				lut.apply(new int[4], 0, 4, new int[4], 1, Lut3D.Interpolation.TRILINEAR));
+		assertThrows(IllegalArgumentException.class, () ->
+				lut.apply(new int[4], 0, 4, new float[11], 0, Lut3D.Interpolation.TETRAHEDRAL));
+	}
+
+	@Test
+	void rejectsIncompleteCube() {
+		assertThrows(IOException.class, () ->
+				Lut3D.read(new StringReader("LUT_3D_SIZE 2\n0 0 0\n1 1 1\n")));
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PremultipliedTest {
+	@Test
+	void roundTrip() {
+		for (int a = 0; a < 256; a++) {
+			for (int c = 0; c < 256; c++) {
+				int color = a << 24 | c << 16 | (255 - c) << 8 | c / 2;
+				int premultiplied = Premultiplied.premultiply(color);
+				assertEquals(Math.round(c * a / 255f), (premultiplied >> 16) & 0xFF);
+				assertEquals(premultiplied, Premultiplied.premultiply(Premultiplied.unpremultiply(premultiplied)));
+				if (a > 0 && c <= a) {
+					int straight = Premultiplied.unpremultiply(a << 24 | c << 16);
+					assertEquals(Math.round(c * 255f / a), (straight >> 16) & 0xFF);
+				}
+			}
+		}
+		assertEquals(0, Premultiplied.unpremultiply(0x00000000));
+		assertEquals(RGB.of(0x80FF0000), RGB.ofPremultiplied(RGB.of(0x80FF0000).toPremultiplied()));
+	}
+
+	@Test
+	void bulk() {
+		Random random = new Random(42);
+		int[] colors = new int[1000];
+		for (int i = 0; i < colors.length; i++) {
+			colors[i] = random.nextInt();
+		}
+		int[] premultiplied = new int[colors.length + 1];
+		Premultiplied.premultiply(colors, 0, colors.length, premultiplied, 1);
+		int[] straight = premultiplied.clone();
+		Premultiplied.unpremultiply(straight, 1, colors.length, straight, 1);
+		for (int i = 0; i < colors.length; i++) {
+			assertEquals(Premultiplied.premultiply(colors[i]), premultiplied[i + 1]);
+			assertEquals(Premultiplied.unpremultiply(premultiplied[i + 1]), straight[i + 1]);
+		}
+	}
+
+	@Test
+	void blendAndComposite() {
+		// The color of a transparent end does not bleed in
+		assertEquals(0x80800000, Premultiplied.blend(0x00000000, 0xFFFF0000, 0.5f));
+		assertEquals(0x40400000, Premultiplied.scale(0x80800000, 128));
+
+		Random random = new Random(7);
+		for (int i = 0; i < 10000; i++) {
+			int src = random.nextInt(), dst = random.nextInt() | 0xFF000000;
+			int expected = Utils.compositeColors(src, dst);
+			int actual = Premultiplied.unpremultiply(Premultiplied.compositeColors(
+					Premultiplied.premultiply(src), Premultiplied.premultiply(dst)));
+			for (int shift = 0; shift < 32; shift += 8) {
+				assertEquals((expected >> shift) & 0xFF, (actual >> shift) & 0xFF, 2);
+			}
+		}
+	}
+}
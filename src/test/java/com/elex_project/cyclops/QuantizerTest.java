@@ -0,0 +1,71 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantizerTest {
+	private static final int[] CENTERS = {0xFFC81E1E, 0xFF1E8C32, 0xFF2846D2, 0xFFF0DC50};
+	private static final int[] SIZES = {40000, 30000, 20000, 10000};
+
+	/**
+	 * Four clusters of noisy pixels, plus transparent pixels that must be ignored.
+	 */
+	private static int[] image() {
+		Random random = new Random(14);
+		int[] pixels = new int[110000];
+		int p = 0;
+		for (int c = 0; c < CENTERS.length; c++) {
+			for (int i = 0; i < SIZES[c]; i++) {
+				pixels[p++] = Utils.rgb(
+						Utils.constrain(Utils.red(CENTERS[c]) + random.nextInt(9) - 4, 0, 255),
+						Utils.constrain(Utils.green(CENTERS[c]) + random.nextInt(9) - 4, 0, 255),
+						Utils.constrain(Utils.blue(CENTERS[c]) + random.nextInt(9) - 4, 0, 255));
+			}
+		}
+		while (p < pixels.length) {
+			pixels[p++] = random.nextInt() & 0x00FFFFFF;
+		}
+		return pixels;
+	}
+
+	private static void assertClusters(Palette palette) {
+		assertEquals(CENTERS.length, palette.size(), palette.toString());
+		for (int c = 0; c < CENTERS.length; c++) {
+			assertEquals(SIZES[c], palette.getCount(c), palette.toString());
+			assertTrue(DeltaE.CIE76.difference(RGB.of(CENTERS[c]).toLAB(), RGB.of(palette.getColor(c)).toLAB()) < 1,
+					palette.toString());
+		}
+	}
+
+	@Test
+	void medianCut() {
+		assertClusters(Quantizer.medianCut(image(), 0, 110000, 4));
+	}
+
+	@Test
+	void kMeans() {
+		int[] pixels = image();
+		Palette palette = Quantizer.kMeans(pixels, 0, pixels.length, 4);
+		assertClusters(palette);
+		assertArrayEquals(palette.getColors(), Quantizer.kMeans(pixels, 0, pixels.length, 4).getColors());
+	}
+
+	@Test
+	void fewerColorsThanK() {
+		int[] pixels = {0xFF000000, 0xFF000000, 0xFFFFFFFF};
+		assertEquals(2, Quantizer.kMeans(pixels, 0, 3, 8).size());
+		assertEquals(2, Quantizer.medianCut(pixels, 0, 3, 8).size());
+		assertEquals(0, Quantizer.medianCut(pixels, 0, 0, 8).size());
+		assertThrows(IllegalArgumentException.class, () -> Quantizer.kMeans(pixels, 0, 3, 0));
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SRGBTest {
+
+	@Test
+	void fastEncodingMatchesExact() {
+		final int one = Float.floatToIntBits(1f);
+		for (int bits = 0; bits <= one; bits += 613) {
+			float linear = Float.intBitsToFloat(bits);
+			assertEquals(SRGB.encode8(linear), SRGB.fromLinear8(linear), "linear=" + linear);
+		}
+	}
+
+	@Test
+	void roundTrip() {
+		for (int c = 0; c < 256; c++) {
+			assertEquals(c, SRGB.fromLinear8(SRGB.toLinear(c)));
+			assertEquals(c, SRGB.encode8(SRGB.toLinear(c)));
+		}
+	}
+
+	@Test
+	void fastEncodingClamps() {
+		assertEquals(0, SRGB.fromLinear8(-0.2f));
+		assertEquals(0, SRGB.fromLinear8(Float.NaN));
+		assertEquals(255, SRGB.fromLinear8(1.3f));
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Project Cyclops
+ *
+ * Copyright (c) 2021. Elex.
+ * All Rights Reserved.
+ */
+
+package com.elex_project.cyclops;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UtilsTest {
+
+	@Test
+	void cbrtAccuracy() {
+		final int from = Float.floatToIntBits(1e-6f);
+		final int to = Float.floatToIntBits(2f);
+		int maxUlps = 0;
+		double maxRelativeError = 0;
+		for (int bits = from; bits <= to; bits += 101) {
+			float x = Float.intBitsToFloat(bits);
+			float expected = (float) Math.cbrt(x);
+			float actual = Utils.cbrt(x);
+			maxUlps = Math.max(maxUlps, Math.abs(Float.floatToIntBits(actual) - Float.floatToIntBits(expected)));
+			maxRelativeError = Math.max(maxRelativeError, Math.abs(actual - expected) / expected);
+		}
+		assertEquals(0, maxUlps, "cbrt vs Math.cbrt: max " + maxUlps + " ulp, relative error " + maxRelativeError);
+	}
+
+	@Test
+	void cbrtSpecialValues() {
+		assertEquals(0f, Utils.cbrt(0f), 0f);
+		assertEquals(-2f, Utils.cbrt(-8f), 0f);
+		assertEquals(Float.POSITIVE_INFINITY, Utils.cbrt(Float.POSITIVE_INFINITY), 0f);
+		assertTrue(Float.isNaN(Utils.cbrt(Float.NaN)));
+	}
+}